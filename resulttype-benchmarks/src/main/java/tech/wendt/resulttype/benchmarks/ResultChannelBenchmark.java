@@ -0,0 +1,238 @@
+package tech.wendt.resulttype.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.wendt.resulttype.Result;
+import tech.wendt.resulttype.ResultChannel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the handoff throughput of {@code ResultChannel} with {@code ArrayBlockingQueue}
+ * and {@code LinkedBlockingQueue}, with one consumer and one or three producers, consuming either
+ * one item per {@code poll} or batches per {@code drainTo}.
+ * <p>
+ * The non-blocking {@code offer}/{@code poll} are measured, since threads blocked in {@code put}/{@code take}
+ * would never return at the end of an iteration. The primary score counts every call, including a failed
+ * {@code offer} on a full queue or a {@code poll} on an empty one, so compare the {@code received} counter
+ * instead: it counts only the items that actually reached the consumer. Run with at least one CPU per
+ * benchmark thread, i.e. four for the {@code mpsc} groups.
+ * <p>
+ * Run with {@code mvn package && java -jar target/benchmarks.jar ResultChannelBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ResultChannelBenchmark {
+
+    private static final Result<Integer, String> OK = Result.of(1);
+
+    @Param({"channel", "array", "linked"})
+    private String queue;
+
+    @Param({"1024"})
+    private int capacity;
+
+    private Handoff handoff;
+
+    @Setup
+    public void setUp() {
+        switch (queue) {
+            case "channel":
+                handoff = new ChannelHandoff(new ResultChannel<>(capacity));
+                break;
+            case "array":
+                handoff = new QueueHandoff(new ArrayBlockingQueue<>(capacity));
+                break;
+            case "linked":
+                handoff = new QueueHandoff(new LinkedBlockingQueue<>(capacity));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown queue: " + queue);
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public boolean spscOffer(Handoffs handoffs) {
+        return offer(handoffs);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public Result<Integer, String> spscPoll(Handoffs handoffs) {
+        return poll(handoffs);
+    }
+
+    @Benchmark
+    @Group("spscDrain")
+    @GroupThreads(1)
+    public boolean spscDrainOffer(Handoffs handoffs) {
+        return offer(handoffs);
+    }
+
+    @Benchmark
+    @Group("spscDrain")
+    @GroupThreads(1)
+    public int spscDrain(Handoffs handoffs, Batch batch) {
+        return drain(handoffs, batch);
+    }
+
+    @Benchmark
+    @Group("mpsc")
+    @GroupThreads(3)
+    public boolean mpscOffer(Handoffs handoffs) {
+        return offer(handoffs);
+    }
+
+    @Benchmark
+    @Group("mpsc")
+    @GroupThreads(1)
+    public Result<Integer, String> mpscPoll(Handoffs handoffs) {
+        return poll(handoffs);
+    }
+
+    @Benchmark
+    @Group("mpscDrain")
+    @GroupThreads(3)
+    public boolean mpscDrainOffer(Handoffs handoffs) {
+        return offer(handoffs);
+    }
+
+    @Benchmark
+    @Group("mpscDrain")
+    @GroupThreads(1)
+    public int mpscDrain(Handoffs handoffs, Batch batch) {
+        return drain(handoffs, batch);
+    }
+
+    private boolean offer(Handoffs handoffs) {
+        boolean offered = handoff.offer(OK);
+        if (offered) {
+            handoffs.offered++;
+        }
+        return offered;
+    }
+
+    private Result<Integer, String> poll(Handoffs handoffs) {
+        Result<Integer, String> result = handoff.poll();
+        if (result != null) {
+            handoffs.received++;
+        }
+        return result;
+    }
+
+    private int drain(Handoffs handoffs, Batch batch) {
+        batch.items.clear();
+        int drained = handoff.drainTo(batch.items);
+        handoffs.received += drained;
+        return drained;
+    }
+
+    /**
+     * The successful operations of a benchmark thread, reported next to the primary score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Handoffs {
+
+        public long offered;
+        public long received;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            offered = 0;
+            received = 0;
+        }
+    }
+
+    /**
+     * The reused collection of a draining consumer.
+     */
+    @State(Scope.Thread)
+    public static class Batch {
+
+        final List<Result<Integer, String>> items = new ArrayList<>();
+    }
+
+    private interface Handoff {
+
+        boolean offer(Result<Integer, String> result);
+
+        Result<Integer, String> poll();
+
+        int drainTo(Collection<? super Result<Integer, String>> batch);
+    }
+
+    private static final class ChannelHandoff implements Handoff {
+
+        private final ResultChannel<Integer, String> channel;
+
+        ChannelHandoff(ResultChannel<Integer, String> channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public boolean offer(Result<Integer, String> result) {
+            return channel.offer(result);
+        }
+
+        @Override
+        public Result<Integer, String> poll() {
+            return channel.poll();
+        }
+
+        @Override
+        public int drainTo(Collection<? super Result<Integer, String>> batch) {
+            return channel.drainTo(batch);
+        }
+    }
+
+    private static final class QueueHandoff implements Handoff {
+
+        private final BlockingQueue<Result<Integer, String>> queue;
+
+        QueueHandoff(BlockingQueue<Result<Integer, String>> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean offer(Result<Integer, String> result) {
+            return queue.offer(result);
+        }
+
+        @Override
+        public Result<Integer, String> poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public int drainTo(Collection<? super Result<Integer, String>> batch) {
+            return queue.drainTo(batch);
+        }
+    }
+}
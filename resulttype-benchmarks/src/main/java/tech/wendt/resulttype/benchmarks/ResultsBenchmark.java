@@ -0,0 +1,167 @@
+package tech.wendt.resulttype.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.wendt.resulttype.Result;
+import tech.wendt.resulttype.Results;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the bulk operations of {@code Results} with a plain loop over the public {@code Result} API
+ * and with per-element stream processing. The loops are the baseline the bulk operations have to beat.
+ * <p>
+ * Run with {@code mvn package && java -jar target/benchmarks.jar ResultsBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultsBenchmark {
+
+    private static final Function<Integer, Integer> DOUBLE = v -> v * 2;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    @Param({"0.1"})
+    private double errorRate;
+
+    private Result<Integer, String>[] results;
+    private Result<Integer, String>[] allOk;
+    private Integer[] values;
+    private Result<Integer, String>[] mapped;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        results = newArray(size);
+        for (int i = 0; i < size; i++) {
+            results[i] = random.nextDouble() < errorRate ? Result.error("error") : Result.of(i);
+        }
+        allOk = newArray(size);
+        Arrays.setAll(allOk, Result::of);
+        values = new Integer[size];
+        mapped = newArray(size);
+        pool = ForkJoinPool.commonPool();
+    }
+
+    @Benchmark
+    public int countOk() {
+        return Results.countOk(results);
+    }
+
+    @Benchmark
+    public int countOkParallel() {
+        return Results.countOk(results, pool);
+    }
+
+    @Benchmark
+    public int countOkLoop() {
+        int count = 0;
+        for (Result<Integer, String> result : results) {
+            if (result.isOk()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long countOkStream() {
+        return Arrays.stream(results).filter(Result::isOk).count();
+    }
+
+    @Benchmark
+    public Integer[] unwrapOrElse() {
+        return Results.unwrapOrElse(results, values, -1);
+    }
+
+    @Benchmark
+    public Integer[] unwrapOrElseParallel() {
+        return Results.unwrapOrElse(results, values, -1, pool);
+    }
+
+    @Benchmark
+    public Integer[] unwrapOrElseLoop() {
+        for (int i = 0; i < results.length; i++) {
+            values[i] = results[i].orElse(-1);
+        }
+        return values;
+    }
+
+    @Benchmark
+    public Integer[] unwrapOrElseStream() {
+        return Arrays.stream(results).map(result -> result.orElse(-1)).toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public Result<Integer, String>[] mapAllInto() {
+        return Results.mapAllInto(results, DOUBLE, mapped);
+    }
+
+    @Benchmark
+    public Result<Integer, String>[] mapAllIntoParallel() {
+        return Results.mapAllInto(results, DOUBLE, mapped, pool);
+    }
+
+    @Benchmark
+    public Result<Integer, String>[] mapAllLoop() {
+        for (int i = 0; i < results.length; i++) {
+            mapped[i] = results[i].map(DOUBLE);
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public Object[] mapAllStream() {
+        return Arrays.stream(results).map(result -> result.map(DOUBLE)).toArray();
+    }
+
+    @Benchmark
+    public int indexOfFirstError() {
+        return Results.indexOfFirstError(allOk);
+    }
+
+    @Benchmark
+    public int indexOfFirstErrorParallel() {
+        return Results.indexOfFirstError(allOk, pool);
+    }
+
+    @Benchmark
+    public int indexOfFirstErrorLoop() {
+        for (int i = 0; i < allOk.length; i++) {
+            if (allOk[i].isError()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int indexOfFirstErrorStream() {
+        return IntStream.range(0, allOk.length).filter(i -> allOk[i].isError()).findFirst().orElse(-1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Result<Integer, String>[] newArray(int size) {
+        return new Result[size];
+    }
+}
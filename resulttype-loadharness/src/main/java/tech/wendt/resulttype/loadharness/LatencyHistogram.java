@@ -0,0 +1,125 @@
+package tech.wendt.resulttype.loadharness;
+
+import java.util.Arrays;
+
+/**
+ * A log-bucketed histogram of latencies in nanoseconds.
+ * <p>
+ * Values below 128 are counted exactly, larger values in buckets keeping the
+ * 7 most significant bits, which bounds the relative error to below 2 %.
+ * A histogram is meant to be written by a single thread; per thread histograms
+ * are combined with {@link #add(LatencyHistogram)}.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * HALF_SUB_BUCKET_COUNT
+            + HALF_SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long max;
+
+    /**
+     *
+     * Records a single latency.
+     *
+     * @param nanos The latency in nanoseconds
+     * @throws IllegalArgumentException if {@code nanos} is negative
+     */
+    void record(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Negative latency: " + nanos);
+        }
+        counts[indexOf(nanos)]++;
+        totalCount++;
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    /**
+     *
+     * Adds all recorded latencies of {@code other} to this histogram.
+     *
+     * @param other The histogram to be added
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     *
+     * Clears all recorded latencies.
+     */
+    void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        max = 0;
+    }
+
+    /**
+     *
+     * @return The number of recorded latencies
+     */
+    long count() {
+        return totalCount;
+    }
+
+    /**
+     *
+     * @return The largest recorded latency in nanoseconds, {@code 0} if the histogram is empty
+     */
+    long max() {
+        return max;
+    }
+
+    /**
+     *
+     * Returns the latency at the given percentile, as the highest value equivalent to its bucket.
+     *
+     * @param percentile The percentile, between {@code 0} and {@code 100}
+     * @return The latency in nanoseconds, {@code 0} if the histogram is empty
+     * @throws IllegalArgumentException if {@code percentile} is out of range
+     */
+    long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKET_COUNT - 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
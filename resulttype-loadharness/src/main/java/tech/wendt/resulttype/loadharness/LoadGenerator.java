@@ -0,0 +1,180 @@
+package tech.wendt.resulttype.loadharness;
+
+import tech.wendt.resulttype.Result;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link Pipeline} at a fixed arrival rate.
+ * <p>
+ * Every request has an intended start time on a fixed schedule, and its latency is measured
+ * from that intended start instead of the actual one. A stalled pipeline therefore shows up
+ * in the latencies of all requests that should have been issued during the stall, which
+ * corrects for coordinated omission.
+ */
+final class LoadGenerator {
+
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int threads;
+    private final double rate;
+
+    /**
+     *
+     * @param threads The number of worker threads issuing requests
+     * @param rate The number of requests per second across all workers
+     * @throws IllegalArgumentException if {@code threads} or {@code rate} is not positive
+     */
+    LoadGenerator(int threads, double rate) {
+        if (threads <= 0 || rate <= 0) {
+            throw new IllegalArgumentException("Threads and rate must be positive");
+        }
+        this.threads = threads;
+        this.rate = rate;
+    }
+
+    /**
+     *
+     * Runs the scenario for the warmup duration without recording, then for the measured duration.
+     *
+     * @param scenario The scenario to be run
+     * @param warmupNanos The duration of the warmup in nanoseconds
+     * @param durationNanos The duration of the measurement in nanoseconds
+     * @return The report of the measurement
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    ScenarioReport run(Scenario scenario, long warmupNanos, long durationNanos) throws InterruptedException {
+        Pipeline pipeline = new Pipeline(scenario);
+        if (warmupNanos > 0) {
+            runPhase(pipeline, warmupNanos);
+        }
+
+        long gcCountBefore = 0;
+        long gcMillisBefore = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCountBefore += Math.max(0, gc.getCollectionCount());
+            gcMillisBefore += Math.max(0, gc.getCollectionTime());
+        }
+
+        Phase phase = runPhase(pipeline, durationNanos);
+
+        long gcCount = -gcCountBefore;
+        long gcMillis = -gcMillisBefore;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        return new ScenarioReport(scenario, phase.histogram, phase.errors, phase.elapsedNanos,
+                phase.allocatedBytes, gcCount, gcMillis);
+    }
+
+    private Phase runPhase(Pipeline pipeline, long durationNanos) throws InterruptedException {
+        AtomicLong tickets = new AtomicLong();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long end = start + durationNanos;
+        double periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        List<Worker> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(pipeline, tickets, start, end, periodNanos);
+            worker.setName("loadharness-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        Phase phase = new Phase();
+        for (Worker worker : workers) {
+            worker.join();
+            phase.histogram.add(worker.histogram);
+            phase.errors += worker.errors;
+            phase.allocatedBytes = worker.allocatedBytes < 0 || phase.allocatedBytes < 0
+                    ? -1 : phase.allocatedBytes + worker.allocatedBytes;
+        }
+        phase.elapsedNanos = System.nanoTime() - start;
+        return phase;
+    }
+
+    private static final class Phase {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long errors;
+        long allocatedBytes;
+        long elapsedNanos;
+    }
+
+    private static final class Worker extends Thread {
+
+        private final Pipeline pipeline;
+        private final AtomicLong tickets;
+        private final long start;
+        private final long end;
+        private final double periodNanos;
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long errors;
+        long allocatedBytes;
+        long checksum;
+
+        Worker(Pipeline pipeline, AtomicLong tickets, long start, long end, double periodNanos) {
+            this.pipeline = pipeline;
+            this.tickets = tickets;
+            this.start = start;
+            this.end = end;
+            this.periodNanos = periodNanos;
+        }
+
+        @Override
+        public void run() {
+            long allocatedBefore = allocatedBytes();
+            while (true) {
+                long ticket = tickets.getAndIncrement();
+                long intended = start + (long) (ticket * periodNanos);
+                if (intended >= end) {
+                    break;
+                }
+                waitUntil(intended);
+
+                Result<Pipeline.Response, Pipeline.Failure> result = pipeline.handle(ticket);
+                long latency = System.nanoTime() - intended;
+
+                histogram.record(latency);
+                if (result.isError()) {
+                    errors++;
+                } else {
+                    checksum += result.get().checksum;
+                }
+            }
+            long allocatedAfter = allocatedBytes();
+            allocatedBytes = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        }
+
+        private static void waitUntil(long deadline) {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                if (remaining > SPIN_THRESHOLD_NANOS) {
+                    LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        private static long allocatedBytes() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+                if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                    return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+            }
+            return -1;
+        }
+    }
+}
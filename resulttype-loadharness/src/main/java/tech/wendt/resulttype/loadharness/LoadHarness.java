@@ -0,0 +1,91 @@
+package tech.wendt.resulttype.loadharness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code Result}-heavy request pipelines at a fixed arrival rate and reports
+ * latency percentiles, allocation rate and GC totals per scenario.
+ * <p>
+ * Options: {@code --rate=<requests/s>}, {@code --threads=<n>}, {@code --warmup=<seconds>},
+ * {@code --duration=<seconds>} and any number of {@code --scenario=<spec>}, see {@link Scenario}.
+ * Without a scenario option the {@link Scenario#DEFAULTS} are run.
+ */
+public final class LoadHarness {
+
+    private LoadHarness() {
+    }
+
+    /**
+     *
+     * @param args The command line options
+     * @throws InterruptedException if interrupted while running a scenario
+     */
+    public static void main(String[] args) throws InterruptedException {
+        double rate = 10_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long warmupSeconds = 5;
+        long durationSeconds = 30;
+        List<Scenario> scenarios = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                usage("Unknown argument '" + arg + "'");
+                return;
+            }
+            String option = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            try {
+                switch (option) {
+                    case "rate":
+                        rate = Double.parseDouble(value);
+                        break;
+                    case "threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "warmup":
+                        warmupSeconds = Long.parseLong(value);
+                        break;
+                    case "duration":
+                        durationSeconds = Long.parseLong(value);
+                        break;
+                    case "scenario":
+                        scenarios.add(Scenario.parse(value));
+                        break;
+                    default:
+                        usage("Unknown option '" + option + "'");
+                        return;
+                }
+            } catch (IllegalArgumentException e) {
+                usage(e.getMessage());
+                return;
+            }
+        }
+        if (scenarios.isEmpty()) {
+            scenarios.addAll(Scenario.DEFAULTS);
+        }
+
+        LoadGenerator generator = new LoadGenerator(threads, rate);
+        System.out.printf("rate=%.0f/s threads=%d warmup=%ds duration=%ds%n", rate, threads, warmupSeconds,
+                durationSeconds);
+        for (Scenario scenario : scenarios) {
+            System.out.println(scenario);
+        }
+        System.out.println(ScenarioReport.HEADER);
+        for (Scenario scenario : scenarios) {
+            ScenarioReport report = generator.run(scenario, TimeUnit.SECONDS.toNanos(warmupSeconds),
+                    TimeUnit.SECONDS.toNanos(durationSeconds));
+            System.out.println(report);
+        }
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: LoadHarness [--rate=<requests/s>] [--threads=<n>] [--warmup=<seconds>]"
+                + " [--duration=<seconds>] [--scenario=<name:validationFailureRate:lookupMissRate"
+                + ":fallbackMissRate:payloadBytes:workTokens>]...");
+        System.exit(1);
+    }
+}
@@ -0,0 +1,123 @@
+package tech.wendt.resulttype.loadharness;
+
+import tech.wendt.resulttype.Result;
+
+/**
+ * A simulated request pipeline built from {@code Result} chains:
+ * validation, lookup, fallback via {@code or} and recovery via {@code flatMapError}.
+ * <p>
+ * Outcomes are derived from the request id, so a pipeline is stateless and can be
+ * shared between threads.
+ */
+final class Pipeline {
+
+    private static final long VALIDATION = 0x9E3779B97F4A7C15L;
+    private static final long LOOKUP = 0xC2B2AE3D27D4EB4FL;
+    private static final long FALLBACK = 0x165667B19E3779F9L;
+
+    private final Scenario scenario;
+
+    Pipeline(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    Result<Response, Failure> handle(long id) {
+        Request request = new Request(id, new byte[scenario.payloadBytes]);
+        return Result.<Request, Failure>of(request)
+                .flatMap(this::validate)
+                .flatMap(valid -> lookup(valid).or(() -> fallback(valid)))
+                .flatMapError(this::recover);
+    }
+
+    private Result<Request, Failure> validate(Request request) {
+        if (chance(request.id, VALIDATION) < scenario.validationFailureRate) {
+            return Result.error(new Failure(Failure.Kind.INVALID,
+                    String.format("Request %d failed validation", request.id)));
+        }
+        return Result.of(request);
+    }
+
+    private Result<Response, Failure> lookup(Request request) {
+        long checksum = work(request.id, scenario.workTokens);
+        if (chance(request.id, LOOKUP) < scenario.lookupMissRate) {
+            return Result.error(new Failure(Failure.Kind.NOT_FOUND,
+                    String.format("No entry for request %d", request.id)));
+        }
+        return Result.of(new Response(request.id, checksum, new byte[scenario.payloadBytes]));
+    }
+
+    private Result<Response, Failure> fallback(Request request) {
+        long checksum = work(request.id, scenario.workTokens / 2);
+        if (chance(request.id, FALLBACK) < scenario.fallbackMissRate) {
+            return Result.error(new Failure(Failure.Kind.UNAVAILABLE,
+                    String.format("Fallback unavailable for request %d", request.id)));
+        }
+        return Result.of(new Response(request.id, checksum, new byte[scenario.payloadBytes]));
+    }
+
+    private Result<Response, Failure> recover(Failure failure) {
+        if (failure.kind == Failure.Kind.UNAVAILABLE) {
+            return Result.of(Response.EMPTY);
+        }
+        return Result.error(failure);
+    }
+
+    private static double chance(long id, long salt) {
+        long z = id * salt;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z ^= z >>> 33;
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    private static long work(long seed, int tokens) {
+        long x = seed;
+        for (int i = 0; i < tokens; i++) {
+            x = x * 6364136223846793005L + 1442695040888963407L;
+        }
+        return x;
+    }
+
+    static final class Request {
+        final long id;
+        final byte[] payload;
+
+        Request(long id, byte[] payload) {
+            this.id = id;
+            this.payload = payload;
+        }
+    }
+
+    static final class Response {
+        static final Response EMPTY = new Response(-1, 0, new byte[0]);
+
+        final long id;
+        final long checksum;
+        final byte[] payload;
+
+        Response(long id, long checksum, byte[] payload) {
+            this.id = id;
+            this.checksum = checksum;
+            this.payload = payload;
+        }
+    }
+
+    static final class Failure {
+        enum Kind {
+            INVALID, NOT_FOUND, UNAVAILABLE
+        }
+
+        final Kind kind;
+        final String message;
+
+        Failure(Kind kind, String message) {
+            this.kind = kind;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return kind + ": " + message;
+        }
+    }
+}
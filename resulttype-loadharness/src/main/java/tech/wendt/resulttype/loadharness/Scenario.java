@@ -0,0 +1,73 @@
+package tech.wendt.resulttype.loadharness;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The configuration of a simulated request pipeline.
+ * <p>
+ * A scenario is written as {@code name:validationFailureRate:lookupMissRate:fallbackMissRate:payloadBytes:workTokens},
+ * e.g. {@code mixed:0.05:0.2:0.5:256:200}.
+ */
+final class Scenario {
+
+    static final List<Scenario> DEFAULTS = Arrays.asList(
+            parse("happy:0:0:0:256:200"),
+            parse("mixed:0.05:0.2:0.5:256:200"),
+            parse("failing:0.3:0.5:0.9:1024:200"));
+
+    final String name;
+    final double validationFailureRate;
+    final double lookupMissRate;
+    final double fallbackMissRate;
+    final int payloadBytes;
+    final int workTokens;
+
+    Scenario(String name, double validationFailureRate, double lookupMissRate, double fallbackMissRate,
+             int payloadBytes, int workTokens) {
+        this.name = name;
+        this.validationFailureRate = rate(validationFailureRate);
+        this.lookupMissRate = rate(lookupMissRate);
+        this.fallbackMissRate = rate(fallbackMissRate);
+        if (payloadBytes < 0 || workTokens < 0) {
+            throw new IllegalArgumentException("Payload bytes and work tokens must not be negative");
+        }
+        this.payloadBytes = payloadBytes;
+        this.workTokens = workTokens;
+    }
+
+    /**
+     *
+     * Parses a scenario specification.
+     *
+     * @param spec The specification, see {@link Scenario}
+     * @return The parsed {@code Scenario}
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    static Scenario parse(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Malformed scenario '" + spec
+                    + "', expected name:validationFailureRate:lookupMissRate:fallbackMissRate:payloadBytes:workTokens");
+        }
+        try {
+            return new Scenario(parts[0], Double.parseDouble(parts[1]), Double.parseDouble(parts[2]),
+                    Double.parseDouble(parts[3]), Integer.parseInt(parts[4]), Integer.parseInt(parts[5]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed scenario '" + spec + "'", e);
+        }
+    }
+
+    private static double rate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Rate out of range: " + rate);
+        }
+        return rate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[validation=%.2f, lookupMiss=%.2f, fallbackMiss=%.2f, payload=%dB, work=%d]",
+                name, validationFailureRate, lookupMissRate, fallbackMissRate, payloadBytes, workTokens);
+    }
+}
@@ -0,0 +1,60 @@
+package tech.wendt.resulttype.loadharness;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The latencies, allocation rate and GC totals measured for a single {@link Scenario}.
+ * <p>
+ * GC pause totals are the accumulated collection times reported by the garbage collector
+ * MXBeans, which for concurrent collectors include time not spent in a pause.
+ */
+final class ScenarioReport {
+
+    static final String HEADER = String.format("%-10s %10s %8s %10s %10s %10s %10s %10s %10s %8s %10s",
+            "scenario", "requests", "errors", "rate/s", "p50(us)", "p99(us)", "p99.9(us)", "max(us)",
+            "alloc MB/s", "gc", "gc(ms)");
+
+    final Scenario scenario;
+    final LatencyHistogram histogram;
+    final long errors;
+    final long elapsedNanos;
+    final long allocatedBytes;
+    final long gcCount;
+    final long gcMillis;
+
+    ScenarioReport(Scenario scenario, LatencyHistogram histogram, long errors, long elapsedNanos,
+                   long allocatedBytes, long gcCount, long gcMillis) {
+        this.scenario = scenario;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    /**
+     *
+     * @return The allocation rate in MB per second, or {@code -1} if allocations could not be measured
+     */
+    double allocationRate() {
+        if (allocatedBytes < 0 || elapsedNanos <= 0) {
+            return -1;
+        }
+        return allocatedBytes / (1024.0 * 1024.0) / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return String.format("%-10s %10d %8d %10.0f %10.1f %10.1f %10.1f %10.1f %10.1f %8d %10d",
+                scenario.name, histogram.count(), errors, histogram.count() / seconds,
+                micros(histogram.percentile(50)), micros(histogram.percentile(99)),
+                micros(histogram.percentile(99.9)), micros(histogram.max()),
+                allocationRate(), gcCount, gcMillis);
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
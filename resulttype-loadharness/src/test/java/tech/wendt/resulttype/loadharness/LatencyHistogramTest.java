@@ -0,0 +1,70 @@
+package tech.wendt.resulttype.loadharness;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.count()).isEqualTo(0);
+        assertThat(histogram.percentile(99)).isEqualTo(0);
+        assertThat(histogram.max()).isEqualTo(0);
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.percentile(50)).isEqualTo(50);
+        assertThat(histogram.percentile(99)).isEqualTo(99);
+        assertThat(histogram.percentile(100)).isEqualTo(100);
+        assertThat(histogram.max()).isEqualTo(100);
+    }
+
+    @Test
+    public void largeValuesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertThat((double) histogram.percentile(50)).isCloseTo(50_000_000, within(50_000_000 * 0.02));
+        assertThat((double) histogram.percentile(99.9)).isCloseTo(99_900_000, within(99_900_000 * 0.02));
+        assertThat(histogram.max()).isEqualTo(100_000_000);
+    }
+
+    @Test
+    public void bucketsCoverTheirValues() {
+        long[] values = {0, 127, 128, 129, 255, 256, 1_000_003, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestEquivalentValue(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void add() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(20);
+        second.record(5000);
+        first.add(second);
+        assertThat(first.count()).isEqualTo(3);
+        assertThat(first.percentile(50)).isEqualTo(20);
+        assertThat(first.max()).isEqualTo(5000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negative() {
+        new LatencyHistogram().record(-1);
+    }
+}
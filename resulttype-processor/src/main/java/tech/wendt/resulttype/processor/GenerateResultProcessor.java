@@ -0,0 +1,176 @@
+package tech.wendt.resulttype.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a specialized, final {@code Result} type for every type annotated with
+ * {@code tech.wendt.resulttype.GenerateResult}.
+ * <p>
+ * The generated type holds the value and the error in typed fields, so call sites
+ * operating on it are monomorphic and need no casts.
+ */
+public class GenerateResultProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "tech.wendt.resulttype.GenerateResult";
+
+    private static final String TEMPLATE = "SpecializedResult.template";
+
+    private String template;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if (annotation == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (isValid(element)) {
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private boolean isValid(Element element) {
+        if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.INTERFACE) {
+            error(element, "@GenerateResult is only supported on classes and interfaces");
+            return false;
+        }
+        TypeElement type = (TypeElement) element;
+        if (!type.getTypeParameters().isEmpty()) {
+            error(element, "@GenerateResult is not supported on generic types");
+            return false;
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && !type.getModifiers().contains(Modifier.STATIC)) {
+            error(element, "@GenerateResult is not supported on inner classes");
+            return false;
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        AnnotationMirror mirror = findAnnotation(type);
+        TypeMirror errorType = null;
+        String name = "";
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+            String attribute = entry.getKey().getSimpleName().toString();
+            if (attribute.equals("error")) {
+                errorType = (TypeMirror) entry.getValue().getValue();
+            } else if (attribute.equals("name")) {
+                name = (String) entry.getValue().getValue();
+            }
+        }
+        if (errorType == null || errorType.getKind() != TypeKind.DECLARED) {
+            error(type, "@GenerateResult requires a class or interface as error type");
+            return;
+        }
+        if (name.isEmpty()) {
+            name = type.getSimpleName() + "Result";
+        }
+        if (!SourceVersion.isIdentifier(name) || SourceVersion.isKeyword(name)) {
+            error(type, "@GenerateResult name '" + name + "' is not a valid identifier");
+            return;
+        }
+
+        TypeElement errorElement = (TypeElement) ((DeclaredType) errorType).asElement();
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+
+        Map<String, String> variables = new LinkedHashMap<>();
+        variables.put("package", packageName.isEmpty() ? "" : "package " + packageName + ";\n");
+        variables.put("name", name);
+        variables.put("value", type.getQualifiedName().toString());
+        variables.put("valueSimple", type.getSimpleName().toString());
+        variables.put("error", errorElement.getQualifiedName().toString());
+        variables.put("errorSimple", errorElement.getSimpleName().toString());
+
+        String qualifiedName = packageName.isEmpty() ? name : packageName + "." + name;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(render(variables));
+            }
+        } catch (IOException e) {
+            error(type, "Could not generate " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private AnnotationMirror findAnnotation(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(ANNOTATION)) {
+                return mirror;
+            }
+        }
+        throw new IllegalStateException("No @GenerateResult present on " + type);
+    }
+
+    private String render(Map<String, String> variables) {
+        String source = template();
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            source = source.replace("${" + variable.getKey() + "}", variable.getValue());
+        }
+        return source;
+    }
+
+    private String template() {
+        if (template == null) {
+            try (InputStream in = GenerateResultProcessor.class.getResourceAsStream(TEMPLATE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing template " + TEMPLATE);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                template = new String(out.toByteArray(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return template;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,163 @@
+package tech.wendt.resulttype.processor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tech.wendt.resulttype.Result;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenerateResultProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String USER = "package test;\n"
+            + "@tech.wendt.resulttype.GenerateResult(error = UserError.class)\n"
+            + "public class User {\n"
+            + "    public final String name;\n"
+            + "    public User(String name) { this.name = name; }\n"
+            + "    @Override public String toString() { return name; }\n"
+            + "}\n";
+
+    private static final String USER_ERROR = "package test;\n"
+            + "public class UserError {\n"
+            + "    @Override public String toString() { return \"not found\"; }\n"
+            + "}\n";
+
+    @Test
+    public void generatesSpecializedResult() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(source("test.User", USER),
+                source("test.UserError", USER_ERROR));
+        assertThat(errors(diagnostics)).isEmpty();
+        assertThat(new File(folder.getRoot(), "test/UserResult.java")).exists();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{folder.getRoot().toURI().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> user = loader.loadClass("test.User");
+            Class<?> userError = loader.loadClass("test.UserError");
+            Class<?> userResult = loader.loadClass("test.UserResult");
+            Object alice = user.getConstructor(String.class).newInstance("alice");
+            Object bob = user.getConstructor(String.class).newInstance("bob");
+
+            Object ok = userResult.getMethod("of", user).invoke(null, alice);
+            assertThat(userResult.getMethod("isOk").invoke(ok)).isEqualTo(true);
+            assertThat(userResult.getMethod("get").invoke(ok)).isSameAs(alice);
+            assertThat(ok.toString()).isEqualTo("Result[Ok[alice]]");
+
+            UnaryOperator<Object> toBob = value -> bob;
+            Object mapped = userResult.getMethod("map", UnaryOperator.class).invoke(ok, toBob);
+            assertThat(userResult.getMethod("get").invoke(mapped)).isSameAs(bob);
+
+            Object error = userResult.getMethod("error", userError).invoke(null, userError.newInstance());
+            assertThat(userResult.getMethod("isError").invoke(error)).isEqualTo(true);
+            assertThat(userResult.getMethod("map", UnaryOperator.class).invoke(error, toBob)).isSameAs(error);
+
+            Result<?, ?> generic = (Result<?, ?>) userResult.getMethod("toResult").invoke(ok);
+            assertThat(generic.get()).isSameAs(alice);
+            assertThat(userResult.getMethod("from", Result.class).invoke(null, generic)).isEqualTo(ok);
+        }
+    }
+
+    private static final String USAGE = "package test;\n"
+            + "import tech.wendt.resulttype.Result;\n"
+            + "public class Usage {\n"
+            + "    public static Result<Integer, UserError> nameLength(String name) {\n"
+            + "        return UserResult.of(new User(name)).map(user -> new User(user.name + \"!\"))\n"
+            + "                .mapTo(user -> user.name.length());\n"
+            + "    }\n"
+            + "    public static Result<User, String> describeError() {\n"
+            + "        return UserResult.error(new UserError()).mapErrorTo(error -> \"error: \" + error);\n"
+            + "    }\n"
+            + "    public static Result<String, UserError> flatMapTo(String name) {\n"
+            + "        return UserResult.of(new User(name)).flatMapTo(user -> Result.of(user.name));\n"
+            + "    }\n"
+            + "    public static Result<User, Integer> flatMapErrorTo() {\n"
+            + "        return UserResult.error(new UserError()).flatMapErrorTo(error -> Result.error(404));\n"
+            + "    }\n"
+            + "}\n";
+
+    @Test
+    public void typeChangingCombinators() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(source("test.User", USER),
+                source("test.UserError", USER_ERROR), source("test.Usage", USAGE));
+        assertThat(errors(diagnostics)).isEmpty();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{folder.getRoot().toURI().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> usage = loader.loadClass("test.Usage");
+            assertThat(usage.getMethod("nameLength", String.class).invoke(null, "alice")).isEqualTo(Result.of(6));
+            assertThat(usage.getMethod("describeError").invoke(null)).isEqualTo(Result.error("error: not found"));
+            assertThat(usage.getMethod("flatMapTo", String.class).invoke(null, "bob")).isEqualTo(Result.of("bob"));
+            assertThat(usage.getMethod("flatMapErrorTo").invoke(null)).isEqualTo(Result.error(404));
+        }
+    }
+
+    @Test
+    public void customName() {
+        String source = USER.replace("error = UserError.class", "error = UserError.class, name = \"Users\"");
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(source("test.User", source),
+                source("test.UserError", USER_ERROR));
+        assertThat(errors(diagnostics)).isEmpty();
+        assertThat(new File(folder.getRoot(), "test/Users.java")).exists();
+    }
+
+    @Test
+    public void rejectsGenericTypes() {
+        String source = USER.replace("class User {", "class User<T> {");
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(source("test.User", source),
+                source("test.UserError", USER_ERROR));
+        assertThat(errors(diagnostics)).containsExactly("@GenerateResult is not supported on generic types");
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(JavaFileObject... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(folder.getRoot()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singleton(folder.getRoot()));
+            List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    Arrays.asList(sources));
+            task.setProcessors(Collections.singleton(new GenerateResultProcessor()));
+            task.call();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return diagnostics;
+    }
+
+    private static List<String> errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        return Arrays.asList(diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .toArray(String[]::new));
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
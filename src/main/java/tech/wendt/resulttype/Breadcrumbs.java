@@ -0,0 +1,61 @@
+package tech.wendt.resulttype;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable trail of the last {@link #CAPACITY} steps an error passed through.
+ * <p>
+ * Steps are kept in a fixed-size ring, so a trail never grows beyond {@code CAPACITY} entries;
+ * appending copies the ring.
+ */
+final class Breadcrumbs {
+
+    static final int CAPACITY = 8;
+
+    private final String[] ring;
+    private final int count;
+
+    private Breadcrumbs(String[] ring, int count) {
+        this.ring = ring;
+        this.count = count;
+    }
+
+    static Breadcrumbs append(Breadcrumbs trail, String step) {
+        String[] ring = trail == null ? new String[CAPACITY] : trail.ring.clone();
+        int count = trail == null ? 0 : trail.count;
+        ring[count % CAPACITY] = step;
+        return new Breadcrumbs(ring, count + 1);
+    }
+
+    static Breadcrumbs concat(Breadcrumbs first, Breadcrumbs second) {
+        if (second == null) {
+            return first;
+        }
+        Breadcrumbs trail = first;
+        for (String step : second.steps()) {
+            trail = append(trail, step);
+        }
+        return trail;
+    }
+
+    static List<String> steps(Breadcrumbs trail) {
+        return trail == null ? Collections.emptyList() : trail.steps();
+    }
+
+    private List<String> steps() {
+        int size = Math.min(count, CAPACITY);
+        List<String> steps = new ArrayList<>(size);
+        for (int i = count - size; i < count; i++) {
+            steps.add(ring[i % CAPACITY]);
+        }
+        return Collections.unmodifiableList(steps);
+    }
+
+    @Override
+    public String toString() {
+        String steps = String.join(" > ", steps());
+        return count > CAPACITY ? "... > " + steps : steps;
+    }
+}
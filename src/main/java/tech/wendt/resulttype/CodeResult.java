@@ -0,0 +1,213 @@
+package tech.wendt.resulttype;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * A container object which contains a value or a primitive {@code int} error code.
+ * <p>
+ * Error codes are never boxed. {@code ErrCodeResult}s for codes between {@code -128} and {@code 1023}
+ * are cached and reused, so error paths for those codes allocate nothing.
+ *
+ * @param <T> The type of the value
+ */
+public interface CodeResult<T> {
+
+    /**
+     *
+     * Returns an {@code OkCodeResult} instance.
+     *
+     * @param value The value to be contained in the {@code CodeResult}
+     * @param <T> The type of the value
+     * @return a {@code CodeResult} with the value present
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    static <T> CodeResult<T> of(T value){
+        return new OkCodeResult<>(value);
+    }
+
+    /**
+     *
+     * Returns an {@code ErrCodeResult} instance.
+     *
+     * @param code The error code to be contained in the {@code CodeResult}
+     * @param <T> The type of the value
+     * @return a {@code CodeResult} with the error code present
+     */
+    static <T> CodeResult<T> error(int code){
+        return ErrCodeResult.of(code);
+    }
+
+    /**
+     *
+     * Converts a generic {@code Result} into a {@code CodeResult}.
+     *
+     * @param result The {@code Result} to be converted
+     * @param codeMapping The function mapping the error to its error code
+     * @param <T> The type of the value
+     * @param <E> The type of the error
+     * @return a {@code CodeResult} with the value or the error code of {@code result} present
+     * @throws NullPointerException if {@code result} or {@code codeMapping} is {@code null}
+     */
+    static <T, E> CodeResult<T> fromResult(Result<? extends T, ? extends E> result,
+                                           ToIntFunction<? super E> codeMapping){
+        Objects.requireNonNull(result);
+        Objects.requireNonNull(codeMapping);
+
+        if(result.isOk()){
+            return CodeResult.of(result.get());
+        } else {
+            return CodeResult.error(codeMapping.applyAsInt(result.getError()));
+        }
+    }
+
+    /**
+     *
+     * @return An {@code Optional} with the value present, if the {@code CodeResult} is an {@code OkCodeResult}
+     */
+    Optional<T> getOptional();
+
+    /**
+     *
+     * Returns the value, if the {@code CodeResult} is an {@code OkCodeResult}, otherwise throws {@code NoSuchElementException}.
+     *
+     * @return The value of the {@code CodeResult}
+     * @throws NoSuchElementException if the {@code CodeResult} is an error
+     */
+    T get();
+
+    /**
+     *
+     * Returns the error code, if the {@code CodeResult} is an {@code ErrCodeResult}, otherwise throws {@code NoSuchElementException}.
+     *
+     * @return The error code of the {@code CodeResult}
+     * @throws NoSuchElementException if the {@code CodeResult} is ok
+     */
+    int getErrorCode();
+
+    /**
+     *
+     * If the {@code CodeResult} is an {@code OkCodeResult} returns {@code true}, otherwise {@code false}.
+     *
+     * @return {@code true} if a value is present, otherwise {@code false}
+     */
+    boolean isOk();
+
+    /**
+     *
+     * If the {@code CodeResult} is an {@code ErrCodeResult}, returns {@code true}, otherwise {@code false}.
+     *
+     * @return {@code true} if an error code is present, otherwise {@code false}
+     */
+    boolean isError();
+
+    /**
+     * If the {@code CodeResult} is an {@code OkCodeResult}, performs the given action with the value,
+     * otherwise does nothing.
+     *
+     * @param action the action to be performed, if a value is present
+     * @throws NullPointerException if the given action is {@code null}
+     */
+    void ifPresent(Consumer<? super T> action);
+
+    /**
+     * If the {@code CodeResult} is an {@code OkCodeResult}, returns a {@code CodeResult} describing
+     * the result of applying the given mapping function to the value, otherwise returns
+     * the {@code CodeResult} without mapping applied.
+     *
+     * @param mapper the mapping function to apply to a value, if present
+     * @param <U> The type of the value returned from the mapping function
+     * @return a {@code CodeResult} describing the result of applying the mapping function
+     *         to the value, if a value is present, otherwise an {@code ErrCodeResult}
+     * @throws NullPointerException if the mapping function is {@code null}
+     * @throws NullPointerException if the mapping function was applied and returns {@code null}
+     */
+    <U> CodeResult<U> map(Function<? super T, ? extends U> mapper);
+
+    /**
+     * If the {@code CodeResult} is an {@code ErrCodeResult}, returns a {@code CodeResult} with
+     * the error code produced by the given operator, otherwise returns the {@code CodeResult}
+     * without mapping applied.
+     *
+     * @param mapper the operator to apply to an error code, if present
+     * @return a {@code CodeResult} with the mapped error code, if an error code is present,
+     *         otherwise the {@code CodeResult} without mapping applied
+     * @throws NullPointerException if the operator is {@code null}
+     */
+    CodeResult<T> mapErrorCode(IntUnaryOperator mapper);
+
+    /**
+     * If the {@code CodeResult} is an {@code OkCodeResult}, returns the result of applying the given
+     * {@code CodeResult}-bearing mapping function to the value, otherwise returns the
+     * {@code CodeResult} without mapping applied.
+     *
+     * @param mapper the mapping function to apply to a value, if present
+     * @param <U> The type of value of the {@code CodeResult} returned by the mapping function
+     * @return the result of applying the mapping function to the value, if a value is present,
+     *         otherwise an {@code ErrCodeResult}
+     * @throws NullPointerException if the mapping function is {@code null} or returns a {@code null} result
+     */
+    <U> CodeResult<U> flatMap(Function<? super T, ? extends CodeResult<? extends U>> mapper);
+
+    /**
+     * If the {@code CodeResult} is an {@code OkCodeResult}, returns the {@code CodeResult},
+     * otherwise returns a {@code CodeResult} produced by the supplying function.
+     *
+     * @param supplier the supplying function that produces a {@code CodeResult} to be returned
+     * @return the {@code CodeResult}, if it is an {@code OkCodeResult}, otherwise a
+     *         {@code CodeResult} produced by the supplying function
+     * @throws NullPointerException if the supplying function is {@code null} or produces a {@code null} result
+     */
+    CodeResult<T> or(Supplier<? extends CodeResult<? extends T>> supplier);
+
+    /**
+     * Applies {@code valueMapper} to the value, if the {@code CodeResult} is an {@code OkCodeResult},
+     * otherwise applies {@code codeMapper} to the error code.
+     *
+     * @param valueMapper the mapping function to apply to a value, if present
+     * @param codeMapper the mapping function to apply to an error code, if present
+     * @param <R> The type of the result of the mapping functions
+     * @return the result of the applied mapping function
+     * @throws NullPointerException if a mapping function is {@code null}
+     */
+    <R> R fold(Function<? super T, ? extends R> valueMapper, IntFunction<? extends R> codeMapper);
+
+    /**
+     * If the {@code CodeResult} is an {@code OkCodeResult}, returns the value, otherwise returns
+     * {@code other}.
+     *
+     * @param other the value to be returned, if the {@code CodeResult} is an {@code ErrCodeResult}.
+     *        May be {@code null}.
+     * @return the value, if the {@code CodeResult} is an {@code OkCodeResult}, otherwise {@code other}
+     */
+    T orElse(T other);
+
+    /**
+     * If the {@code CodeResult} is an {@code OkCodeResult}, returns the value, otherwise returns the result
+     * of applying the mapping function to the error code.
+     *
+     * @param codeMapper the mapping function that produces a value from the error code
+     * @return the value, if the {@code CodeResult} is an {@code OkCodeResult}, otherwise the result of
+     *         the mapping function
+     * @throws NullPointerException if the mapping function is {@code null}
+     */
+    T orElseGet(IntFunction<? extends T> codeMapper);
+
+    /**
+     *
+     * Converts the {@code CodeResult} into a generic {@code Result}, mapping the error code to an error object.
+     *
+     * @param errorMapping the function mapping an error code to its error
+     * @param <E> The type of the error
+     * @return a {@code Result} with the value or the mapped error present
+     * @throws NullPointerException if the mapping function is {@code null} or was applied and returns {@code null}
+     */
+    <E> Result<T, E> toResult(IntFunction<? extends E> errorMapping);
+}
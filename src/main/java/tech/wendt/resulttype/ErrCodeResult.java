@@ -0,0 +1,159 @@
+package tech.wendt.resulttype;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * A CodeResult that represents a CodeResult containing an error code.
+ * <p>
+ * Instances for codes between {@link #CACHE_LOW} and {@link #CACHE_HIGH} are created on first
+ * use and then shared. Instances are immutable, so publishing them through the cache without
+ * synchronization is safe; a race merely creates a duplicate that is equal to the cached one.
+ *
+ * @param <T> The type of the value
+ */
+class ErrCodeResult<T> implements CodeResult<T> {
+
+    static final int CACHE_LOW = -128;
+    static final int CACHE_HIGH = 1023;
+
+    private static final ErrCodeResult<?>[] CACHE = new ErrCodeResult<?>[CACHE_HIGH - CACHE_LOW + 1];
+
+    private final int code;
+
+    private ErrCodeResult(int code) {
+        this.code = code;
+    }
+
+    static <T> CodeResult<T> of(int code) {
+        if (code < CACHE_LOW || code > CACHE_HIGH) {
+            return new ErrCodeResult<>(code);
+        }
+        ErrCodeResult<?> cached = CACHE[code - CACHE_LOW];
+        if (cached == null) {
+            cached = new ErrCodeResult<>(code);
+            CACHE[code - CACHE_LOW] = cached;
+        }
+        @SuppressWarnings("unchecked")
+        CodeResult<T> result = (CodeResult<T>) cached;
+        return result;
+    }
+
+    @Override
+    public Optional<T> getOptional() {
+        return Optional.empty();
+    }
+
+    @Override
+    public T get() {
+        throw new NoSuchElementException("No value present");
+    }
+
+    @Override
+    public int getErrorCode() {
+        return code;
+    }
+
+    @Override
+    public boolean isOk() {
+        return false;
+    }
+
+    @Override
+    public boolean isError() {
+        return true;
+    }
+
+    @Override
+    public void ifPresent(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+    }
+
+    @Override
+    public <U> CodeResult<U> map(Function<? super T, ? extends U> mapper) {
+        Objects.requireNonNull(mapper);
+
+        @SuppressWarnings("unchecked")
+        CodeResult<U> result = (CodeResult<U>) this;
+        return result;
+    }
+
+    @Override
+    public CodeResult<T> mapErrorCode(IntUnaryOperator mapper) {
+        Objects.requireNonNull(mapper);
+
+        return CodeResult.error(mapper.applyAsInt(code));
+    }
+
+    @Override
+    public <U> CodeResult<U> flatMap(Function<? super T, ? extends CodeResult<? extends U>> mapper) {
+        Objects.requireNonNull(mapper);
+
+        @SuppressWarnings("unchecked")
+        CodeResult<U> result = (CodeResult<U>) this;
+        return result;
+    }
+
+    @Override
+    public CodeResult<T> or(Supplier<? extends CodeResult<? extends T>> supplier) {
+        Objects.requireNonNull(supplier);
+
+        @SuppressWarnings("unchecked")
+        CodeResult<T> result = (CodeResult<T>) Objects.requireNonNull(supplier.get());
+        return result;
+    }
+
+    @Override
+    public <R> R fold(Function<? super T, ? extends R> valueMapper, IntFunction<? extends R> codeMapper) {
+        Objects.requireNonNull(valueMapper);
+        Objects.requireNonNull(codeMapper);
+
+        return codeMapper.apply(code);
+    }
+
+    @Override
+    public T orElse(T other) {
+        return other;
+    }
+
+    @Override
+    public T orElseGet(IntFunction<? extends T> codeMapper) {
+        Objects.requireNonNull(codeMapper);
+
+        return codeMapper.apply(code);
+    }
+
+    @Override
+    public <E> Result<T, E> toResult(IntFunction<? extends E> errorMapping) {
+        Objects.requireNonNull(errorMapping);
+
+        return Result.error(Objects.requireNonNull(errorMapping.apply(code)));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ErrCodeResult)) {
+            return false;
+        }
+        return code == ((ErrCodeResult<?>) obj).code;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(code);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CodeResult[Err[%d]]", code);
+    }
+}
@@ -17,12 +17,44 @@ import java.util.stream.Stream;
  */
 class ErrResult<T, E> implements Result<T, E> {
 
-    private E error;
+    private final E error;
 
     ErrResult(E error) {
         this.error = Objects.requireNonNull(error);
     }
 
+    /**
+     * For subclasses producing the error in {@link #error()}.
+     */
+    ErrResult() {
+        this.error = null;
+    }
+
+    E error() {
+        return error;
+    }
+
+    /**
+     *
+     * @return The provenance trail, {@code null} unless this is a {@code TracedErrResult}
+     */
+    Breadcrumbs breadcrumbs() {
+        return null;
+    }
+
+    /**
+     *
+     * @return The {@code ErrResult} holding the error, which is this one unless it is a {@code TracedErrResult}
+     */
+    ErrResult<?, E> origin() {
+        return this;
+    }
+
+    ErrResult<T, E> recordStep(Breadcrumbs before, Object function) {
+        Breadcrumbs trail = Breadcrumbs.append(Breadcrumbs.concat(before, breadcrumbs()), Provenance.stepOf(function));
+        return new TracedErrResult<>(origin(), trail);
+    }
+
     @Override
     public Optional<T> getOptional() {
         return Optional.empty();
@@ -30,7 +62,7 @@ class ErrResult<T, E> implements Result<T, E> {
 
     @Override
     public Optional<E> getErrorOptional() {
-        return Optional.of(error);
+        return Optional.of(error());
     }
 
     @Override
@@ -40,7 +72,7 @@ class ErrResult<T, E> implements Result<T, E> {
 
     @Override
     public E getError() {
-        return error;
+        return error();
     }
 
     @Override
@@ -77,21 +109,30 @@ class ErrResult<T, E> implements Result<T, E> {
     public <U> Result<U, E> map(Function<T, U> mapper) {
         Objects.requireNonNull(mapper);
 
-        return Result.error(this.error);
+        @SuppressWarnings("unchecked")
+        Result<U, E> result = (Result<U, E>) this;
+        return result;
     }
 
     @Override
     public <U> Result<T, U> mapError(Function<? super E, ? extends U> mapper) {
         Objects.requireNonNull(mapper);
 
-        return Result.error(Objects.requireNonNull(mapper.apply(error)));
+        U mapped = Objects.requireNonNull(mapper.apply(error()));
+        if (Provenance.ENABLED) {
+            Breadcrumbs trail = Breadcrumbs.append(breadcrumbs(), Provenance.stepOf(mapper));
+            return new TracedErrResult<>(new ErrResult<>(mapped), trail);
+        }
+        return Result.error(mapped);
     }
 
     @Override
     public <U> Result<U, E> flatMap(Function<? super T, ? extends Result<? extends U, ? extends E>> mapper) {
         Objects.requireNonNull(mapper);
 
-        return Result.error(this.error);
+        @SuppressWarnings("unchecked")
+        Result<U, E> result = (Result<U, E>) this;
+        return result;
     }
 
     @Override
@@ -99,7 +140,10 @@ class ErrResult<T, E> implements Result<T, E> {
         Objects.requireNonNull(mapper);
 
         @SuppressWarnings("unchecked")
-        Result<T, U> result = (Result<T, U>) Objects.requireNonNull(mapper.apply(error));
+        Result<T, U> result = (Result<T, U>) Objects.requireNonNull(mapper.apply(error()));
+        if (Provenance.ENABLED && result instanceof ErrResult) {
+            return ((ErrResult<T, U>) result).recordStep(breadcrumbs(), mapper);
+        }
         return result;
     }
 
@@ -119,7 +163,7 @@ class ErrResult<T, E> implements Result<T, E> {
 
     @Override
     public Stream<E> streamError() {
-        return Stream.of(error);
+        return Stream.of(error());
     }
 
     @Override
@@ -153,16 +197,16 @@ class ErrResult<T, E> implements Result<T, E> {
         if(other.isOk()){
             return false;
         }
-        return Objects.equals(error, other.getError());
+        return Objects.equals(error(), other.getError());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(error);
+        return Objects.hashCode(error());
     }
 
     @Override
     public String toString() {
-        return String.format("Result[Err[%s]]", error);
+        return String.format("Result[Err[%s]]", error());
     }
 }
@@ -0,0 +1,468 @@
+package tech.wendt.resulttype;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * A concurrent sketch of the most frequent error values, using the Space-Saving algorithm.
+ * <p>
+ * Each of the stripes is a separate Space-Saving summary of at most {@code capacity} distinct error values,
+ * so the memory is bounded by {@code capacity} times the number of stripes, regardless of how many distinct
+ * errors are recorded. A thread always records into the same stripe, chosen by its id, so threads rarely
+ * contend even when they all record the same dominant error. {@link #snapshot()} merges the stripes.
+ * Counts are never underestimated; each entry of a {@link Snapshot} carries an upper bound of its
+ * overestimation. Any value occurring more often than {@code total / capacity} times is guaranteed
+ * to be tracked.
+ * <p>
+ * Snapshots are immutable and can be merged, e.g. to combine the sketches of several nodes.
+ *
+ * @param <E> The type of the error
+ */
+public final class ErrorSketch<E> {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final int capacity;
+    private final Stripe<E>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    private ErrorSketch(int capacity, int stripes) {
+        this.capacity = capacity;
+        this.stripes = (Stripe<E>[]) new Stripe<?>[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe<>(capacity);
+        }
+    }
+
+    /**
+     *
+     * Creates an {@code ErrorSketch} with one stripe per available processor.
+     *
+     * @param capacity The maximum number of error values tracked per stripe
+     * @param <E> The type of the error
+     * @return An empty {@code ErrorSketch}
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public static <E> ErrorSketch<E> create(int capacity) {
+        return create(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     *
+     * Creates an {@code ErrorSketch}.
+     *
+     * @param capacity The maximum number of error values tracked per stripe
+     * @param stripes The number of independently locked stripes, rounded up to a power of two
+     * @param <E> The type of the error
+     * @return An empty {@code ErrorSketch}
+     * @throws IllegalArgumentException if {@code capacity} or {@code stripes} is not positive
+     */
+    public static <E> ErrorSketch<E> create(int capacity, int stripes) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be positive: " + stripes);
+        }
+        int size = Math.min(MAX_STRIPES, Integer.highestOneBit(stripes - 1) << 1);
+        return new ErrorSketch<>(capacity, Math.max(1, size));
+    }
+
+    /**
+     *
+     * Returns a {@code Collector} recording the errors of the collected {@code Result}s in a sketch
+     * and returning its {@code Snapshot}. Partial sketches of a parallel stream are merged.
+     *
+     * @param capacity The maximum number of error values tracked
+     * @param <E> The type of the error
+     * @return A {@code Collector} summarizing the errors of {@code Result}s
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public static <E> Collector<Result<?, ? extends E>, ?, Snapshot<E>> collector(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        return Collector.of(
+                () -> new Partial<E>(capacity),
+                Partial::accept,
+                Partial::combine,
+                Partial::snapshot);
+    }
+
+    /**
+     *
+     * Records an error value.
+     *
+     * @param error The error value
+     * @throws NullPointerException if {@code error} is {@code null}
+     */
+    public void record(E error) {
+        Objects.requireNonNull(error);
+
+        stripe().add(error, 1, 0);
+    }
+
+    /**
+     *
+     * Records the error of {@code result}, if it is an {@code ErrResult}. Can be used as
+     * {@code stream.peek(sketch::tap)} or {@code stream.map(sketch::tap)}.
+     *
+     * @param result The {@code Result} to be inspected
+     * @param <T> The type of the value
+     * @return {@code result}
+     * @throws NullPointerException if {@code result} is {@code null}
+     */
+    public <T> Result<T, E> tap(Result<T, E> result) {
+        if (result.isError()) {
+            record(result.getError());
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @return An immutable {@code Snapshot} of the at most {@code capacity} most frequent error values
+     */
+    public Snapshot<E> snapshot() {
+        Snapshot<E> snapshot = stripes[0].snapshot(capacity);
+        for (int i = 1; i < stripes.length; i++) {
+            snapshot = snapshot.merge(stripes[i].snapshot(capacity));
+        }
+        return snapshot;
+    }
+
+    private Stripe<E> stripe() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (id >>> 32) & (stripes.length - 1)];
+    }
+
+    /**
+     * A Space-Saving summary of a bounded number of counters, kept in a min-heap on their counts.
+     */
+    private static final class Stripe<E> {
+
+        private final Counter<E>[] heap;
+        private final Map<E, Counter<E>> counters;
+        private int size;
+        private long total;
+
+        @SuppressWarnings("unchecked")
+        Stripe(int capacity) {
+            this.heap = (Counter<E>[]) new Counter<?>[capacity];
+            this.counters = new HashMap<>(capacity * 4 / 3 + 1);
+        }
+
+        synchronized void add(E value, long count, long overestimate) {
+            total += count;
+            Counter<E> counter = counters.get(value);
+            if (counter != null) {
+                counter.count += count;
+                counter.overestimate += overestimate;
+                siftDown(counter.index);
+            } else if (size < heap.length) {
+                counter = new Counter<>(value, count, overestimate);
+                counters.put(value, counter);
+                heap[size] = counter;
+                counter.index = size;
+                siftUp(size++);
+            } else {
+                // replace the minimum: the new value may have occurred up to that many times before
+                counter = heap[0];
+                counters.remove(counter.value);
+                counter.value = value;
+                counter.overestimate = counter.count + overestimate;
+                counter.count += count;
+                counters.put(value, counter);
+                siftDown(0);
+            }
+        }
+
+        synchronized Snapshot<E> snapshot(int capacity) {
+            List<Entry<E>> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Counter<E> counter = heap[i];
+                entries.add(new Entry<>(counter.value, counter.count, counter.overestimate));
+            }
+            long untrackedBound = size < heap.length ? 0 : heap[0].count;
+            return Snapshot.of(entries, capacity, total, untrackedBound);
+        }
+
+        private void siftUp(int index) {
+            Counter<E> counter = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent].count <= counter.count) {
+                    break;
+                }
+                place(heap[parent], index);
+                index = parent;
+            }
+            place(counter, index);
+        }
+
+        private void siftDown(int index) {
+            Counter<E> counter = heap[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < size && heap[right].count < heap[child].count) {
+                    child = right;
+                }
+                if (counter.count <= heap[child].count) {
+                    break;
+                }
+                place(heap[child], index);
+                index = child;
+            }
+            place(counter, index);
+        }
+
+        private void place(Counter<E> counter, int index) {
+            heap[index] = counter;
+            counter.index = index;
+        }
+    }
+
+    private static final class Counter<E> {
+
+        E value;
+        long count;
+        long overestimate;
+        int index;
+
+        Counter(E value, long count, long overestimate) {
+            this.value = value;
+            this.count = count;
+            this.overestimate = overestimate;
+        }
+    }
+
+    /**
+     * The container of {@link #collector(int)}: a sketch accumulating its part of the stream,
+     * plus the merged snapshots of the parts combined into it.
+     */
+    private static final class Partial<E> {
+
+        private final int capacity;
+        private final ErrorSketch<E> sketch;
+        private Snapshot<E> combined;
+
+        Partial(int capacity) {
+            this.capacity = capacity;
+            this.sketch = new ErrorSketch<>(capacity, 1);
+        }
+
+        void accept(Result<?, ? extends E> result) {
+            if (result.isError()) {
+                sketch.record(result.getError());
+            }
+        }
+
+        Partial<E> combine(Partial<E> other) {
+            combined = snapshot().merge(other.snapshot());
+            sketch.stripes[0] = new Stripe<>(capacity);
+            return this;
+        }
+
+        Snapshot<E> snapshot() {
+            Snapshot<E> current = sketch.snapshot();
+            return combined == null ? current : combined.merge(current);
+        }
+    }
+
+    /**
+     * An immutable, mergeable summary of the most frequent error values.
+     *
+     * @param <E> The type of the error
+     */
+    public static final class Snapshot<E> {
+
+        private static final Comparator<Entry<?>> BY_COUNT =
+                Comparator.<Entry<?>>comparingLong(Entry::getCount).reversed();
+
+        private final List<Entry<E>> entries;
+        private final int capacity;
+        private final long total;
+        private final long untrackedBound;
+
+        private Snapshot(List<Entry<E>> entries, int capacity, long total, long untrackedBound) {
+            this.entries = entries;
+            this.capacity = capacity;
+            this.total = total;
+            this.untrackedBound = untrackedBound;
+        }
+
+        static <E> Snapshot<E> of(List<Entry<E>> entries, int capacity, long total, long untrackedBound) {
+            entries.sort(BY_COUNT);
+            long bound = untrackedBound;
+            if (entries.size() > capacity) {
+                bound = Math.max(bound, entries.get(capacity).getCount());
+                entries = new ArrayList<>(entries.subList(0, capacity));
+            }
+            return new Snapshot<>(Collections.unmodifiableList(entries), capacity, total, bound);
+        }
+
+        /**
+         *
+         * @return The tracked error values, most frequent first
+         */
+        public List<Entry<E>> getEntries() {
+            return entries;
+        }
+
+        /**
+         *
+         * @param k The maximum number of entries
+         * @return The {@code k} most frequent error values, most frequent first
+         * @throws IllegalArgumentException if {@code k} is negative
+         */
+        public List<Entry<E>> top(int k) {
+            if (k < 0) {
+                throw new IllegalArgumentException("k must not be negative: " + k);
+            }
+            return entries.subList(0, Math.min(k, entries.size()));
+        }
+
+        /**
+         *
+         * @return The total number of recorded errors
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         *
+         * @return An upper bound of the count of any error value not contained in this {@code Snapshot}
+         */
+        public long getUntrackedBound() {
+            return untrackedBound;
+        }
+
+        /**
+         *
+         * Merges this {@code Snapshot} with another one, e.g. from another node. Values missing from one
+         * of the snapshots are assumed to have occurred up to its {@link #getUntrackedBound()} times there.
+         *
+         * @param other The {@code Snapshot} to be merged with this one
+         * @return A {@code Snapshot} summarizing the errors of both snapshots
+         * @throws NullPointerException if {@code other} is {@code null}
+         */
+        public Snapshot<E> merge(Snapshot<E> other) {
+            Objects.requireNonNull(other);
+
+            // count, overestimate, and whether the value is missing from the other snapshot
+            Map<E, long[]> merged = new LinkedHashMap<>();
+            for (Entry<E> entry : entries) {
+                merged.put(entry.getValue(), new long[]{entry.getCount(), entry.getOverestimate(), 1});
+            }
+            for (Entry<E> entry : other.entries) {
+                long[] counts = merged.get(entry.getValue());
+                if (counts != null) {
+                    counts[0] += entry.getCount();
+                    counts[1] += entry.getOverestimate();
+                    counts[2] = 0;
+                } else {
+                    merged.put(entry.getValue(), new long[]{
+                            entry.getCount() + untrackedBound, entry.getOverestimate() + untrackedBound, 0});
+                }
+            }
+            for (long[] counts : merged.values()) {
+                if (counts[2] != 0) {
+                    counts[0] += other.untrackedBound;
+                    counts[1] += other.untrackedBound;
+                }
+            }
+
+            List<Entry<E>> result = new ArrayList<>(merged.size());
+            merged.forEach((value, counts) -> result.add(new Entry<>(value, counts[0], counts[1])));
+            return of(result, Math.max(capacity, other.capacity), total + other.total,
+                    untrackedBound + other.untrackedBound);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ErrorSketch.Snapshot[total=%d, entries=%s]", total, entries);
+        }
+    }
+
+    /**
+     * An error value and its estimated count.
+     *
+     * @param <E> The type of the error
+     */
+    public static final class Entry<E> {
+
+        private final E value;
+        private final long count;
+        private final long overestimate;
+
+        Entry(E value, long count, long overestimate) {
+            this.value = value;
+            this.count = count;
+            this.overestimate = overestimate;
+        }
+
+        /**
+         *
+         * @return The error value
+         */
+        public E getValue() {
+            return value;
+        }
+
+        /**
+         *
+         * @return The estimated count, which is never lower than the actual count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         *
+         * @return An upper bound of the difference between the estimated and the actual count
+         */
+        public long getOverestimate() {
+            return overestimate;
+        }
+
+        /**
+         *
+         * @return The count the value is guaranteed to have reached
+         */
+        public long getGuaranteedCount() {
+            return count - overestimate;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry<?> other = (Entry<?>) obj;
+            return count == other.count && overestimate == other.overestimate && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * value.hashCode() + Long.hashCode(count)) + Long.hashCode(overestimate);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Entry[%s=%d, overestimate=%d]", value, count, overestimate);
+        }
+    }
+}
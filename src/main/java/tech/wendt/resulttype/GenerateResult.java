@@ -0,0 +1,34 @@
+package tech.wendt.resulttype;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests a specialized, final {@code Result} type for the annotated value type.
+ * <p>
+ * The {@code resulttype-processor} generates a class named {@code <Type>Result} in the
+ * package of the annotated type, with typed fields for the value and the error,
+ * the combinators of {@link Result} and conversions from and to the generic {@code Result}.
+ *
+ * @see Result
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateResult {
+
+    /**
+     *
+     * @return The type of the error of the generated {@code Result}
+     */
+    Class<?> error();
+
+    /**
+     *
+     * @return The simple name of the generated type, defaults to the name of the annotated type followed by {@code Result}
+     */
+    String name() default "";
+}
@@ -0,0 +1,376 @@
+package tech.wendt.resulttype;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@code Result}-producing calls with a hedge: if the primary attempt has not completed
+ * after a delay, a backup attempt is started and the first {@code OkResult} wins.
+ * <p>
+ * The delay is either fixed or adapts to a percentile of the latencies of recent attempts.
+ * Attempts run on an {@code ExecutorService}, the delay is scheduled on a
+ * {@code ScheduledExecutorService}, so no thread waits for the delay. When an attempt wins,
+ * the other one is cancelled with interruption. If the primary fails before the delay,
+ * no backup is started; if all started attempts fail, the error of the last one to complete
+ * is returned. If the executor rejects the backup or the scheduler rejects the delay, the call
+ * waits for the primary alone.
+ * <p>
+ * The executor should run attempts asynchronously: an executor running them in the calling thread,
+ * e.g. with a caller-runs policy, makes {@code call} wait for the primary, which then runs unhedged.
+ */
+public final class Hedge {
+
+    private static final int WINDOW_SIZE = 1024;
+    private static final int RECOMPUTE_INTERVAL = 128;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+    private final long fixedDelayNanos;
+    private final double percentile;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long adaptiveDelayNanos;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder backupWins = new LongAdder();
+
+    private Hedge(ScheduledExecutorService scheduler, ExecutorService executor, long delayNanos, double percentile) {
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.executor = Objects.requireNonNull(executor);
+        this.fixedDelayNanos = delayNanos;
+        this.adaptiveDelayNanos = delayNanos;
+        this.percentile = percentile;
+    }
+
+    /**
+     *
+     * Creates a {@code Hedge} starting the backup after a fixed delay.
+     *
+     * @param delay The delay after which the backup is started
+     * @param unit The unit of {@code delay}
+     * @param scheduler The {@code ScheduledExecutorService} used to schedule the backup
+     * @param executor The {@code ExecutorService} running the attempts
+     * @return a {@code Hedge} with a fixed delay
+     * @throws NullPointerException if {@code unit}, {@code scheduler} or {@code executor} is {@code null}
+     * @throws IllegalArgumentException if {@code delay} is negative
+     */
+    public static Hedge fixed(long delay, TimeUnit unit, ScheduledExecutorService scheduler,
+                              ExecutorService executor) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay must not be negative: " + delay);
+        }
+        return new Hedge(scheduler, executor, unit.toNanos(delay), Double.NaN);
+    }
+
+    /**
+     *
+     * Creates a {@code Hedge} starting the backup after the given percentile of the latencies
+     * of the recent attempts. Until enough latencies are recorded, {@code initialDelay} is used.
+     *
+     * @param percentile The percentile of recent latencies used as delay, e.g. {@code 95}
+     * @param initialDelay The delay used until enough latencies are recorded
+     * @param unit The unit of {@code initialDelay}
+     * @param scheduler The {@code ScheduledExecutorService} used to schedule the backup
+     * @param executor The {@code ExecutorService} running the attempts
+     * @return a {@code Hedge} with an adaptive delay
+     * @throws NullPointerException if {@code unit}, {@code scheduler} or {@code executor} is {@code null}
+     * @throws IllegalArgumentException if {@code percentile} is not between {@code 0} and {@code 100},
+     *         or {@code initialDelay} is negative
+     */
+    public static Hedge adaptive(double percentile, long initialDelay, TimeUnit unit,
+                                 ScheduledExecutorService scheduler, ExecutorService executor) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        if (initialDelay < 0) {
+            throw new IllegalArgumentException("Delay must not be negative: " + initialDelay);
+        }
+        return new Hedge(scheduler, executor, unit.toNanos(initialDelay), percentile);
+    }
+
+    /**
+     *
+     * Runs {@code attempt} as primary and, if needed, again as backup.
+     *
+     * @param attempt The supplying function producing the {@code Result} of an attempt
+     * @param <T> The type of the value
+     * @param <E> The type of the error
+     * @return a {@code CompletableFuture} completed with the first {@code OkResult}, or the error of the last attempt
+     * @throws NullPointerException if {@code attempt} is {@code null}
+     */
+    public <T, E> CompletableFuture<Result<T, E>> call(Supplier<? extends Result<T, E>> attempt) {
+        return call(attempt, attempt);
+    }
+
+    /**
+     *
+     * Runs {@code primary} and, if it has not completed after the delay, {@code backup}.
+     * <p>
+     * If an attempt throws, it counts as failed; if the last attempt to complete threw,
+     * the returned future is completed exceptionally. Once the primary has been submitted,
+     * {@code call} does not throw; if the backup cannot be scheduled, the primary runs unhedged.
+     *
+     * @param primary The supplying function producing the {@code Result} of the primary attempt
+     * @param backup The supplying function producing the {@code Result} of the backup attempt
+     * @param <T> The type of the value
+     * @param <E> The type of the error
+     * @return a {@code CompletableFuture} completed with the first {@code OkResult}, or the error of the last attempt
+     * @throws NullPointerException if {@code primary} or {@code backup} is {@code null}
+     * @throws RejectedExecutionException if the executor rejects the primary attempt
+     */
+    public <T, E> CompletableFuture<Result<T, E>> call(Supplier<? extends Result<T, E>> primary,
+                                                       Supplier<? extends Result<T, E>> backup) {
+        Objects.requireNonNull(primary);
+        Objects.requireNonNull(backup);
+
+        Call<T, E> call = new Call<>(backup);
+        call.primaryStart = System.nanoTime();
+        // submitted without holding the monitor, so an executor running the primary in this thread
+        // does not lock out its completion and the backup
+        Future<?> primaryFuture = executor.submit(() -> call.run(primary, false));
+        calls.increment();
+        synchronized (call) {
+            call.primary = primaryFuture;
+            if (call.done) {
+                return call.result;
+            }
+        }
+        ScheduledFuture<?> timer;
+        try {
+            timer = scheduler.schedule(call::hedge, delayNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // the primary is already running, so the call goes on without a backup
+            return call.result;
+        }
+        synchronized (call) {
+            call.timer = timer;
+            if (call.done) {
+                call.cancel(timer);
+            }
+        }
+        return call.result;
+    }
+
+    /**
+     *
+     * @return The statistics of all calls of this {@code Hedge}
+     */
+    public Stats stats() {
+        return new Stats(calls.sum(), hedges.sum(), backupWins.sum(), delayNanos());
+    }
+
+    private long delayNanos() {
+        return Double.isNaN(percentile) ? fixedDelayNanos : adaptiveDelayNanos;
+    }
+
+    private void recordLatency(long nanos) {
+        if (Double.isNaN(percentile)) {
+            return;
+        }
+        long count = recorded.getAndIncrement();
+        latencies.set((int) (count % WINDOW_SIZE), nanos);
+        if ((count + 1) % RECOMPUTE_INTERVAL == 0) {
+            int size = (int) Math.min(count + 1, WINDOW_SIZE);
+            long[] window = new long[size];
+            for (int i = 0; i < size; i++) {
+                window[i] = latencies.get(i);
+            }
+            Arrays.sort(window);
+            int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            adaptiveDelayNanos = window[Math.max(0, index)];
+        }
+    }
+
+    private final class Call<T, E> {
+
+        final CompletableFuture<Result<T, E>> result = new CompletableFuture<>();
+        final Supplier<? extends Result<T, E>> backupAttempt;
+
+        Future<?> primary;
+        Future<?> backup;
+        long primaryStart;
+        long backupStart;
+        ScheduledFuture<?> timer;
+        int launched = 1;
+        int finished;
+        boolean done;
+        Result<T, E> lastOutcome;
+        Throwable lastFailure;
+
+        Call(Supplier<? extends Result<T, E>> backupAttempt) {
+            this.backupAttempt = backupAttempt;
+        }
+
+        void hedge() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                // counted before submitting, so a backup run by the executor in this thread is not taken
+                // for the last attempt while the primary is still running
+                launched++;
+                backupStart = System.nanoTime();
+            }
+            Future<?> future;
+            try {
+                future = executor.submit(() -> run(backupAttempt, true));
+            } catch (RejectedExecutionException e) {
+                abandonBackup();
+                return;
+            }
+            hedges.increment();
+            synchronized (this) {
+                backup = future;
+                if (done) {
+                    cancel(future);
+                }
+            }
+        }
+
+        void run(Supplier<? extends Result<T, E>> attempt, boolean isBackup) {
+            Result<T, E> outcome = null;
+            Throwable failure = null;
+            try {
+                outcome = Objects.requireNonNull(attempt.get());
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+            complete(outcome, failure, isBackup);
+        }
+
+        private void complete(Result<T, E> outcome, Throwable failure, boolean isBackup) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                long now = System.nanoTime();
+                recordLatency(now - (isBackup ? backupStart : primaryStart));
+                finished++;
+                boolean won = outcome != null && outcome.isOk();
+                if (!won && finished < launched) {
+                    lastOutcome = outcome;
+                    lastFailure = failure;
+                    return;
+                }
+                done = true;
+                if (won && isBackup) {
+                    backupWins.increment();
+                }
+                if (isBackup && finished < launched) {
+                    // the cancelled primary took at least this long, which keeps slow attempts in the window;
+                    // a cancelled backup was started late, so its elapsed time says nothing about the latency
+                    recordLatency(now - primaryStart);
+                }
+                cancel(timer);
+                cancel(isBackup ? primary : backup);
+            }
+            deliver(outcome, failure);
+        }
+
+        /**
+         * The executor rejected the backup, so the call waits for the primary alone. If the primary has
+         * already failed, its outcome completes the call.
+         */
+        private void abandonBackup() {
+            synchronized (this) {
+                launched--;
+                if (done || finished < launched) {
+                    return;
+                }
+                done = true;
+            }
+            deliver(lastOutcome, lastFailure);
+        }
+
+        private void deliver(Result<T, E> outcome, Throwable failure) {
+            if (outcome != null) {
+                result.complete(outcome);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        }
+
+        private void cancel(Future<?> future) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Statistics of the calls of a {@code Hedge}.
+     */
+    public static final class Stats {
+
+        private final long calls;
+        private final long hedges;
+        private final long backupWins;
+        private final long delayNanos;
+
+        Stats(long calls, long hedges, long backupWins, long delayNanos) {
+            this.calls = calls;
+            this.hedges = hedges;
+            this.backupWins = backupWins;
+            this.delayNanos = delayNanos;
+        }
+
+        /**
+         *
+         * @return The number of calls
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         *
+         * @return The number of calls that started a backup attempt
+         */
+        public long getHedges() {
+            return hedges;
+        }
+
+        /**
+         *
+         * @return The number of calls won by the backup attempt
+         */
+        public long getBackupWins() {
+            return backupWins;
+        }
+
+        /**
+         *
+         * @return The ratio of calls that started a backup attempt, {@code 0} if there were no calls
+         */
+        public double getHedgeRate() {
+            return calls == 0 ? 0 : (double) hedges / calls;
+        }
+
+        /**
+         *
+         * @return The current delay before a backup attempt is started, in nanoseconds
+         */
+        public long getDelayNanos() {
+            return delayNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Hedge.Stats[calls=%d, hedges=%d, backupWins=%d, hedgeRate=%.4f, delay=%dns]",
+                    calls, hedges, backupWins, getHedgeRate(), delayNanos);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package tech.wendt.resulttype;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * An {@code ErrResult} whose error is produced by a supplying function on first access.
+ * <p>
+ * The error is memoized with double-checked locking, so the function runs at most once across threads.
+ * Eager errors do not pay for the extra field and the volatile read.
+ *
+ * @param <T> The type of the value
+ * @param <E> The type of the error
+ */
+final class LazyErrResult<T, E> extends ErrResult<T, E> {
+
+    private volatile E computed;
+    private Supplier<? extends E> errorSupplier;
+
+    LazyErrResult(Supplier<? extends E> errorSupplier) {
+        this.errorSupplier = Objects.requireNonNull(errorSupplier);
+    }
+
+    @Override
+    E error() {
+        E result = computed;
+        if (result == null) {
+            synchronized (this) {
+                result = computed;
+                if (result == null) {
+                    result = Objects.requireNonNull(errorSupplier.get());
+                    computed = result;
+                    errorSupplier = null;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,266 @@
+package tech.wendt.resulttype;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads delimited records from a memory-mapped file and parses each of them into a {@code Result}.
+ * <p>
+ * The file is mapped in windows of at most {@link #DEFAULT_WINDOW_SIZE} bytes and scanned for the
+ * delimiter directly in the mapped buffer; records are handed to the {@link RecordParser} as regions
+ * of that buffer without copying. Errors are wrapped in a {@link RecordError} carrying the byte offset
+ * of the record. The records are exposed as a {@code Spliterator} that splits at record boundaries,
+ * so they can be parsed with parallel streams.
+ * <p>
+ * Records must not be longer than the window size; the delimiter following a record does not count,
+ * since each window maps one byte more than the window size. A trailing delimiter at the end of the file
+ * does not start another record.
+ *
+ * @param <R> The type of the parsed record
+ * @param <E> The type of the parse error
+ */
+public final class MappedRecordReader<R, E> implements Closeable {
+
+    /**
+     * The default size of a mapped window in bytes.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    static final long MIN_SPLIT_SIZE = 64 * 1024;
+
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final byte delimiter;
+    private final int windowSize;
+    private final RecordParser<R, E> parser;
+
+    private MappedRecordReader(FileChannel channel, byte delimiter, int windowSize, RecordParser<R, E> parser)
+            throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.delimiter = delimiter;
+        this.windowSize = windowSize;
+        this.parser = parser;
+    }
+
+    /**
+     *
+     * Opens a file of newline delimited records.
+     *
+     * @param path The file to be read
+     * @param parser The parser for a single record
+     * @param <R> The type of the parsed record
+     * @param <E> The type of the parse error
+     * @return A {@code MappedRecordReader} for the file
+     * @throws IOException if the file cannot be opened
+     * @throws NullPointerException if {@code path} or {@code parser} is {@code null}
+     */
+    public static <R, E> MappedRecordReader<R, E> open(Path path, RecordParser<R, E> parser) throws IOException {
+        return open(path, (byte) '\n', DEFAULT_WINDOW_SIZE, parser);
+    }
+
+    /**
+     *
+     * Opens a file of delimited records.
+     *
+     * @param path The file to be read
+     * @param delimiter The byte separating two records
+     * @param windowSize The maximum number of bytes mapped at once, which limits the length of a record
+     * @param parser The parser for a single record
+     * @param <R> The type of the parsed record
+     * @param <E> The type of the parse error
+     * @return A {@code MappedRecordReader} for the file
+     * @throws IOException if the file cannot be opened
+     * @throws NullPointerException if {@code path} or {@code parser} is {@code null}
+     * @throws IllegalArgumentException if {@code windowSize} is not positive
+     */
+    public static <R, E> MappedRecordReader<R, E> open(Path path, byte delimiter, int windowSize,
+                                                       RecordParser<R, E> parser) throws IOException {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(parser);
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedRecordReader<>(channel, delimiter, windowSize, parser);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     *
+     * @return A {@code Spliterator} over the parsed records of the whole file
+     */
+    public Spliterator<Result<R, RecordError<E>>> spliterator() {
+        return new RecordSpliterator(0, size);
+    }
+
+    /**
+     *
+     * @return A sequential {@code Stream} of the parsed records of the whole file,
+     *         which may be turned into a parallel one with {@link Stream#parallel()}
+     */
+    public Stream<Result<R, RecordError<E>>> records() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     *
+     * Closes the underlying file. Mapped windows stay valid until they are garbage collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long nextRecordStart(long from, long end) {
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        try {
+            while (position < end) {
+                scan.clear();
+                int read = channel.read(scan, position);
+                if (read <= 0) {
+                    return end;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (scan.get(i) == delimiter) {
+                        return position + i + 1;
+                    }
+                }
+                position += read;
+            }
+            return end;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class RecordSpliterator implements Spliterator<Result<R, RecordError<E>>> {
+
+        private long position;
+        private final long end;
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private int windowLength;
+
+        RecordSpliterator(long position, long end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Result<R, RecordError<E>>> action) {
+            Objects.requireNonNull(action);
+            if (position >= end) {
+                return false;
+            }
+            if (window == null || position < windowStart || position >= windowStart + windowLength) {
+                map(position);
+            }
+
+            int start = (int) (position - windowStart);
+            int index = indexOfDelimiter(start);
+            while (index < 0 && windowStart + windowLength < end) {
+                if (start == 0) {
+                    throw recordTooLong(position);
+                }
+                map(position);
+                start = 0;
+                index = indexOfDelimiter(start);
+            }
+
+            int length = (index < 0 ? windowLength : index) - start;
+            if (length > windowSize) {
+                throw recordTooLong(position);
+            }
+            long offset = position;
+            position = index < 0 ? windowStart + windowLength : windowStart + index + 1;
+
+            Result<R, E> result = Objects.requireNonNull(parser.parse(window, start, length));
+            if (result.isOk()) {
+                @SuppressWarnings("unchecked")
+                Result<R, RecordError<E>> ok = (Result<R, RecordError<E>>) result;
+                action.accept(ok);
+            } else {
+                action.accept(Result.error(new RecordError<>(offset, result.getError())));
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<Result<R, RecordError<E>>> trySplit() {
+            long remaining = end - position;
+            if (remaining < 2 * MIN_SPLIT_SIZE) {
+                return null;
+            }
+            long boundary = nextRecordStart(position + remaining / 2, end);
+            if (boundary >= end) {
+                return null;
+            }
+            RecordSpliterator prefix = new RecordSpliterator(position, boundary);
+            position = boundary;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        private IllegalStateException recordTooLong(long offset) {
+            return new IllegalStateException(String.format(
+                    "Record at offset %d is longer than the window size of %d bytes", offset, windowSize));
+        }
+
+        /**
+         * Maps one byte more than the window size, so a record of the window size still has room for its delimiter.
+         */
+        private void map(long start) {
+            long length = Math.min(Math.min(windowSize + 1L, Integer.MAX_VALUE), end - start);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            windowStart = start;
+            windowLength = (int) length;
+        }
+
+        private int indexOfDelimiter(int from) {
+            MappedByteBuffer buffer = window;
+            byte target = delimiter;
+            for (int i = from; i < windowLength; i++) {
+                if (buffer.get(i) == target) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
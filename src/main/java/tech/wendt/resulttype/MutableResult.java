@@ -0,0 +1,221 @@
+package tech.wendt.resulttype;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A mutable, reusable holder for a value or an error, meant to be passed as an out-parameter
+ * in tight loops where allocating a {@code Result} per iteration is too expensive.
+ * <p>
+ * A callee fills the holder with {@link #setOk(Object)} or {@link #setError(Object)}, the caller
+ * reads it and calls {@link #reset()} before reusing it. {@link #toResult()} creates an immutable
+ * {@code Result} when the outcome has to escape the loop.
+ * <p>
+ * In debug mode, enabled per instance or for all instances with the system property
+ * {@code tech.wendt.resulttype.debug}, reading an empty holder or filling a holder twice without
+ * a reset throws {@code IllegalStateException}.
+ * <p>
+ * A {@code MutableResult} is not thread-safe.
+ *
+ * @param <T> The type of the value
+ * @param <E> The type of the error
+ */
+public final class MutableResult<T, E> {
+
+    private static final boolean DEBUG_DEFAULT = Boolean.getBoolean("tech.wendt.resulttype.debug");
+
+    private static final byte EMPTY = 0;
+    private static final byte OK = 1;
+    private static final byte ERROR = 2;
+
+    private final boolean debug;
+    private byte state = EMPTY;
+    private T value;
+    private E error;
+
+    /**
+     *
+     * Creates an empty {@code MutableResult}, in debug mode if the system property
+     * {@code tech.wendt.resulttype.debug} is {@code true}.
+     */
+    public MutableResult() {
+        this(DEBUG_DEFAULT);
+    }
+
+    /**
+     *
+     * Creates an empty {@code MutableResult}.
+     *
+     * @param debug {@code true} to check for use of an empty holder and for overwrites without reset
+     */
+    public MutableResult(boolean debug) {
+        this.debug = debug;
+    }
+
+    /**
+     *
+     * Fills the holder with a value.
+     *
+     * @param value The value
+     * @return This {@code MutableResult}
+     * @throws NullPointerException if {@code value} is {@code null}
+     * @throws IllegalStateException in debug mode, if the holder was not reset since it was last filled
+     */
+    public MutableResult<T, E> setOk(T value) {
+        Objects.requireNonNull(value);
+        checkEmpty();
+
+        this.value = value;
+        this.error = null;
+        this.state = OK;
+        return this;
+    }
+
+    /**
+     *
+     * Fills the holder with an error.
+     *
+     * @param error The error
+     * @return This {@code MutableResult}
+     * @throws NullPointerException if {@code error} is {@code null}
+     * @throws IllegalStateException in debug mode, if the holder was not reset since it was last filled
+     */
+    public MutableResult<T, E> setError(E error) {
+        Objects.requireNonNull(error);
+        checkEmpty();
+
+        this.value = null;
+        this.error = error;
+        this.state = ERROR;
+        return this;
+    }
+
+    /**
+     *
+     * Empties the holder, so it can be filled again.
+     *
+     * @return This {@code MutableResult}
+     */
+    public MutableResult<T, E> reset() {
+        value = null;
+        error = null;
+        state = EMPTY;
+        return this;
+    }
+
+    /**
+     *
+     * @return {@code true} if the holder contains a value or an error, otherwise {@code false}
+     */
+    public boolean isSet() {
+        return state != EMPTY;
+    }
+
+    /**
+     *
+     * @return {@code true} if the holder contains a value, otherwise {@code false}
+     * @throws IllegalStateException in debug mode, if the holder is empty
+     */
+    public boolean isOk() {
+        checkSet();
+        return state == OK;
+    }
+
+    /**
+     *
+     * @return {@code true} if the holder contains an error, otherwise {@code false}
+     * @throws IllegalStateException in debug mode, if the holder is empty
+     */
+    public boolean isError() {
+        checkSet();
+        return state == ERROR;
+    }
+
+    /**
+     *
+     * Returns the value, if the holder contains one, otherwise throws {@code NoSuchElementException}.
+     *
+     * @return The value
+     * @throws NoSuchElementException if the holder contains no value
+     * @throws IllegalStateException in debug mode, if the holder is empty
+     */
+    public T get() {
+        if (state != OK) {
+            checkSet();
+            throw new NoSuchElementException("No value present");
+        }
+        return value;
+    }
+
+    /**
+     *
+     * Returns the error, if the holder contains one, otherwise throws {@code NoSuchElementException}.
+     *
+     * @return The error
+     * @throws NoSuchElementException if the holder contains no error
+     * @throws IllegalStateException in debug mode, if the holder is empty
+     */
+    public E getError() {
+        if (state != ERROR) {
+            checkSet();
+            throw new NoSuchElementException("No error present");
+        }
+        return error;
+    }
+
+    /**
+     *
+     * @param other the value to be returned, if the holder contains no value. May be {@code null}.
+     * @return the value, if the holder contains one, otherwise {@code other}
+     * @throws IllegalStateException in debug mode, if the holder is empty
+     */
+    public T orElse(T other) {
+        if (state != OK) {
+            checkSet();
+            return other;
+        }
+        return value;
+    }
+
+    /**
+     *
+     * Creates an immutable {@code Result} with the current value or error.
+     *
+     * @return an {@code OkResult} or {@code ErrResult} with the content of the holder
+     * @throws IllegalStateException if the holder is empty
+     */
+    public Result<T, E> toResult() {
+        switch (state) {
+            case OK:
+                return Result.of(value);
+            case ERROR:
+                return Result.error(error);
+            default:
+                throw new IllegalStateException("MutableResult is empty");
+        }
+    }
+
+    private void checkSet() {
+        if (debug && state == EMPTY) {
+            throw new IllegalStateException("MutableResult used while empty, e.g. after reset");
+        }
+    }
+
+    private void checkEmpty() {
+        if (debug && state != EMPTY) {
+            throw new IllegalStateException("MutableResult filled again without reset");
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (state) {
+            case OK:
+                return String.format("MutableResult[Ok[%s]]", value);
+            case ERROR:
+                return String.format("MutableResult[Err[%s]]", error);
+            default:
+                return "MutableResult[Empty]";
+        }
+    }
+}
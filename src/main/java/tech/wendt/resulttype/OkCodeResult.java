@@ -0,0 +1,135 @@
+package tech.wendt.resulttype;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * A CodeResult that represents a CodeResult containing a value.
+ *
+ * @param <T> The type of the value
+ */
+class OkCodeResult<T> implements CodeResult<T> {
+
+    private final T value;
+
+    OkCodeResult(T value) {
+        this.value = Objects.requireNonNull(value);
+    }
+
+    @Override
+    public Optional<T> getOptional() {
+        return Optional.of(value);
+    }
+
+    @Override
+    public T get() {
+        return value;
+    }
+
+    @Override
+    public int getErrorCode() {
+        throw new NoSuchElementException("No error present");
+    }
+
+    @Override
+    public boolean isOk() {
+        return true;
+    }
+
+    @Override
+    public boolean isError() {
+        return false;
+    }
+
+    @Override
+    public void ifPresent(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+
+        action.accept(value);
+    }
+
+    @Override
+    public <U> CodeResult<U> map(Function<? super T, ? extends U> mapper) {
+        Objects.requireNonNull(mapper);
+
+        return CodeResult.of(Objects.requireNonNull(mapper.apply(value)));
+    }
+
+    @Override
+    public CodeResult<T> mapErrorCode(IntUnaryOperator mapper) {
+        Objects.requireNonNull(mapper);
+
+        return this;
+    }
+
+    @Override
+    public <U> CodeResult<U> flatMap(Function<? super T, ? extends CodeResult<? extends U>> mapper) {
+        Objects.requireNonNull(mapper);
+
+        @SuppressWarnings("unchecked")
+        CodeResult<U> result = (CodeResult<U>) Objects.requireNonNull(mapper.apply(value));
+        return result;
+    }
+
+    @Override
+    public CodeResult<T> or(Supplier<? extends CodeResult<? extends T>> supplier) {
+        Objects.requireNonNull(supplier);
+
+        return this;
+    }
+
+    @Override
+    public <R> R fold(Function<? super T, ? extends R> valueMapper, IntFunction<? extends R> codeMapper) {
+        Objects.requireNonNull(valueMapper);
+        Objects.requireNonNull(codeMapper);
+
+        return valueMapper.apply(value);
+    }
+
+    @Override
+    public T orElse(T other) {
+        return value;
+    }
+
+    @Override
+    public T orElseGet(IntFunction<? extends T> codeMapper) {
+        Objects.requireNonNull(codeMapper);
+
+        return value;
+    }
+
+    @Override
+    public <E> Result<T, E> toResult(IntFunction<? extends E> errorMapping) {
+        Objects.requireNonNull(errorMapping);
+
+        return Result.of(value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof OkCodeResult)) {
+            return false;
+        }
+        OkCodeResult<?> other = (OkCodeResult<?>) obj;
+        return value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CodeResult[Ok[%s]]", value);
+    }
+}
@@ -95,6 +95,9 @@ class OkResult<T, E> implements Result<T, E> {
 
         @SuppressWarnings("unchecked")
         Result<U, E> result = (Result<U, E>) Objects.requireNonNull(mapper.apply(value));
+        if (Provenance.ENABLED && result instanceof ErrResult) {
+            return ((ErrResult<U, E>) result).recordStep(null, mapper);
+        }
         return result;
     }
 
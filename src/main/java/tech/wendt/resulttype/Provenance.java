@@ -0,0 +1,96 @@
+package tech.wendt.resulttype;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Opt-in tracking of the steps that produced or transformed an error.
+ * <p>
+ * If the system property {@code tech.wendt.resulttype.provenance} is {@code true} at startup,
+ * every {@code flatMap} that produces an {@code ErrResult}, every {@code mapError} and every
+ * {@code flatMapError} that produces an {@code ErrResult} records a step identifier in a trail
+ * of the last 8 steps attached to the error, which is rendered by
+ * {@code toString}. The step identifier is the label given with {@link #label(String, Function)},
+ * otherwise the class name of the mapping function, which identifies the lambda's call site.
+ * <p>
+ * The property is read into a constant, so the checks are removed by the JIT compiler
+ * when provenance is disabled.
+ */
+public final class Provenance {
+
+    static final boolean ENABLED = Boolean.getBoolean("tech.wendt.resulttype.provenance");
+
+    private Provenance() {
+    }
+
+    /**
+     *
+     * @return {@code true} if provenance tracking is enabled, otherwise {@code false}
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     *
+     * Labels a mapping function, so the label is recorded as its step identifier.
+     * If provenance is disabled, the function is returned unchanged.
+     *
+     * @param label The step identifier
+     * @param function The mapping function
+     * @param <A> The type of the input of the function
+     * @param <B> The type of the result of the function
+     * @return The labeled function
+     * @throws NullPointerException if {@code label} or {@code function} is {@code null}
+     */
+    public static <A, B> Function<A, B> label(String label, Function<A, B> function) {
+        Objects.requireNonNull(label);
+        Objects.requireNonNull(function);
+
+        return ENABLED ? new Labeled<>(label, function) : function;
+    }
+
+    /**
+     *
+     * Returns the recorded steps of an error, oldest first.
+     *
+     * @param result The {@code Result} to be inspected
+     * @return The recorded steps, empty if the {@code Result} is ok or no steps were recorded
+     * @throws NullPointerException if {@code result} is {@code null}
+     */
+    public static List<String> trail(Result<?, ?> result) {
+        Objects.requireNonNull(result);
+
+        Breadcrumbs trail = result instanceof ErrResult ? ((ErrResult<?, ?>) result).breadcrumbs() : null;
+        return Breadcrumbs.steps(trail);
+    }
+
+    static String stepOf(Object function) {
+        if (function instanceof Labeled) {
+            return ((Labeled<?, ?>) function).label;
+        }
+        String name = function.getClass().getName();
+        int hidden = name.indexOf('/');
+        if (hidden >= 0) {
+            name = name.substring(0, hidden);
+        }
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private static final class Labeled<A, B> implements Function<A, B> {
+
+        private final String label;
+        private final Function<A, B> function;
+
+        Labeled(String label, Function<A, B> function) {
+            this.label = label;
+            this.function = function;
+        }
+
+        @Override
+        public B apply(A a) {
+            return function.apply(a);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package tech.wendt.resulttype;
+
+import java.util.Objects;
+
+/**
+ * A parse error together with the byte offset of the record that caused it.
+ *
+ * @param <E> The type of the parse error
+ * @see MappedRecordReader
+ */
+public final class RecordError<E> {
+
+    private final long offset;
+    private final E error;
+
+    RecordError(long offset, E error) {
+        this.offset = offset;
+        this.error = Objects.requireNonNull(error);
+    }
+
+    /**
+     *
+     * @return The byte offset of the first byte of the record in the file
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     *
+     * @return The error returned by the {@code RecordParser}
+     */
+    public E getError() {
+        return error;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RecordError)) {
+            return false;
+        }
+        RecordError<?> other = (RecordError<?>) obj;
+        return offset == other.offset && error.equals(other.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(offset) + error.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RecordError[%d: %s]", offset, error);
+    }
+}
@@ -0,0 +1,27 @@
+package tech.wendt.resulttype;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses a single record from a region of a buffer into a {@code Result}.
+ *
+ * @param <R> The type of the parsed record
+ * @param <E> The type of the parse error
+ * @see MappedRecordReader
+ */
+@FunctionalInterface
+public interface RecordParser<R, E> {
+
+    /**
+     *
+     * Parses the record stored at {@code buffer[offset, offset + length)}, excluding its delimiter.
+     * The buffer must only be read with absolute methods and must not be retained after returning.
+     *
+     * @param buffer The buffer containing the record
+     * @param offset The index of the first byte of the record in {@code buffer}
+     * @param length The number of bytes of the record
+     * @return An {@code OkResult} with the parsed record or an {@code ErrResult} with the parse error,
+     *         never {@code null}
+     */
+    Result<R, E> parse(ByteBuffer buffer, int offset, int length);
+}
@@ -44,6 +44,24 @@ public interface Result<T, E> {
         return new ErrResult<>(error);
     }
 
+    /**
+     *
+     * Returns an error {@code ErrResult} instance, whose error is produced by the supplying function
+     * when it is first accessed. {@code isError}, {@code map}, {@code flatMap}, {@code or} and the
+     * {@code orElse} variants do not access the error. The supplying function is called at most once,
+     * also if the {@code Result} is shared between threads.
+     *
+     * @param errorSupplier The supplying function that produces the error
+     * @param <T> The type of the value
+     * @param <E> The type of the error
+     * @return a {@code Result} with the error present
+     * @throws NullPointerException if {@code errorSupplier} is {@code null}, or if it produces
+     *         {@code null} when the error is accessed
+     */
+    static <T, E> Result<T, E> errorLazy(Supplier<? extends E> errorSupplier){
+        return new LazyErrResult<>(errorSupplier);
+    }
+
     /**
      *
      * Returns an {@code OkResult} instance, if the provided value is not {@code null}.
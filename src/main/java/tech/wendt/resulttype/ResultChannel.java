@@ -0,0 +1,391 @@
+package tech.wendt.resulttype;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A bounded channel handing {@code Result}s from producer to consumer threads.
+ * <p>
+ * {@code OkResult}s and {@code ErrResult}s travel in separate lanes, so errors can be consumed
+ * by a dedicated consumer, e.g. a dead-letter handler. Each lane is a lock-free, array-backed
+ * ring buffer that allocates nothing per item and supports any number of producers and consumers.
+ * Blocking operations spin, then yield and finally park. A parked consumer is unparked by the next
+ * {@code offer} to its lane and a parked producer by the next {@code poll}, so a handoff to an idle
+ * thread costs one unpark rather than a polling interval; the park timeout is only a safety net.
+ * <p>
+ * The lanes deliberately support several producers and consumers, so a single consumer still pays
+ * one uncontended compare-and-set per {@code poll}. {@code drainTo} claims all available items with
+ * a single compare-and-set and wakes producers once per batch, so batching consumers avoid that cost.
+ *
+ * @param <T> The type of the value
+ * @param <E> The type of the error
+ */
+public final class ResultChannel<T, E> {
+
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 100 : 0;
+    private static final int YIELDS = 100;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Lane<Result<T, E>> okLane;
+    private final Lane<Result<T, E>> errorLane;
+
+    /**
+     *
+     * Creates a {@code ResultChannel} with the same capacity for both lanes.
+     *
+     * @param capacity The capacity of each lane, rounded up to the next power of two of at least {@code 2}
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public ResultChannel(int capacity) {
+        this(capacity, capacity);
+    }
+
+    /**
+     *
+     * Creates a {@code ResultChannel} with separate capacities for the lanes.
+     *
+     * @param okCapacity The capacity of the ok lane, rounded up to the next power of two of at least {@code 2}
+     * @param errorCapacity The capacity of the error lane, rounded up to the next power of two of at least {@code 2}
+     * @throws IllegalArgumentException if a capacity is not positive
+     */
+    public ResultChannel(int okCapacity, int errorCapacity) {
+        this.okLane = new Lane<>(okCapacity);
+        this.errorLane = new Lane<>(errorCapacity);
+    }
+
+    /**
+     *
+     * Adds the {@code Result} to its lane, if there is space available.
+     *
+     * @param result The {@code Result} to be added
+     * @return {@code true} if the {@code Result} was added, {@code false} if its lane is full
+     * @throws NullPointerException if {@code result} is {@code null}
+     */
+    public boolean offer(Result<T, E> result) {
+        Objects.requireNonNull(result);
+
+        return laneOf(result).offer(result);
+    }
+
+    /**
+     *
+     * Adds the {@code Result} to its lane, waiting for space to become available.
+     *
+     * @param result The {@code Result} to be added
+     * @throws NullPointerException if {@code result} is {@code null}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(Result<T, E> result) throws InterruptedException {
+        Objects.requireNonNull(result);
+
+        Lane<Result<T, E>> lane = laneOf(result);
+        await(() -> lane.offer(result) ? result : null, lane.producers, lane::hasSpace);
+    }
+
+    /**
+     *
+     * @return The next {@code OkResult}, or {@code null} if the ok lane is empty
+     */
+    public Result<T, E> poll() {
+        return okLane.poll();
+    }
+
+    /**
+     *
+     * @return The next {@code ErrResult}, or {@code null} if the error lane is empty
+     */
+    public Result<T, E> pollError() {
+        return errorLane.poll();
+    }
+
+    /**
+     *
+     * Returns the next {@code OkResult}, waiting for one to become available.
+     *
+     * @return The next {@code OkResult}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Result<T, E> take() throws InterruptedException {
+        return take(okLane);
+    }
+
+    /**
+     *
+     * Returns the next {@code ErrResult}, waiting for one to become available.
+     *
+     * @return The next {@code ErrResult}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Result<T, E> takeError() throws InterruptedException {
+        return take(errorLane);
+    }
+
+    /**
+     *
+     * Moves all available {@code OkResult}s into the given collection.
+     *
+     * @param batch The collection to add to
+     * @return The number of {@code Result}s moved
+     * @throws NullPointerException if {@code batch} is {@code null}
+     */
+    public int drainTo(Collection<? super Result<T, E>> batch) {
+        return drainTo(batch, Integer.MAX_VALUE);
+    }
+
+    /**
+     *
+     * Moves at most {@code maxElements} available {@code OkResult}s into the given collection.
+     *
+     * @param batch The collection to add to
+     * @param maxElements The maximum number of {@code Result}s to move
+     * @return The number of {@code Result}s moved
+     * @throws NullPointerException if {@code batch} is {@code null}
+     */
+    public int drainTo(Collection<? super Result<T, E>> batch, int maxElements) {
+        return okLane.drainTo(batch, maxElements);
+    }
+
+    /**
+     *
+     * Moves all available {@code ErrResult}s into the given collection.
+     *
+     * @param batch The collection to add to
+     * @return The number of {@code Result}s moved
+     * @throws NullPointerException if {@code batch} is {@code null}
+     */
+    public int drainErrorsTo(Collection<? super Result<T, E>> batch) {
+        return drainErrorsTo(batch, Integer.MAX_VALUE);
+    }
+
+    /**
+     *
+     * Moves at most {@code maxElements} available {@code ErrResult}s into the given collection.
+     *
+     * @param batch The collection to add to
+     * @param maxElements The maximum number of {@code Result}s to move
+     * @return The number of {@code Result}s moved
+     * @throws NullPointerException if {@code batch} is {@code null}
+     */
+    public int drainErrorsTo(Collection<? super Result<T, E>> batch, int maxElements) {
+        return errorLane.drainTo(batch, maxElements);
+    }
+
+    /**
+     *
+     * @return The approximate number of {@code OkResult}s in the channel
+     */
+    public int size() {
+        return okLane.size();
+    }
+
+    /**
+     *
+     * @return The approximate number of {@code ErrResult}s in the channel
+     */
+    public int errorSize() {
+        return errorLane.size();
+    }
+
+    private Lane<Result<T, E>> laneOf(Result<T, E> result) {
+        return result.isOk() ? okLane : errorLane;
+    }
+
+    private static <X> X take(Lane<X> lane) throws InterruptedException {
+        return await(lane::poll, lane.consumers, lane::hasItems);
+    }
+
+    /**
+     * Retries {@code attempt} until it returns non-{@code null}. After spinning and yielding, the thread
+     * registers in {@code waiters}, retries once more so a signal sent before the registration is not
+     * missed, and parks until signalled. On leaving, it passes the signal on to the next waiter if
+     * {@code more} tells there is still something to do for it.
+     */
+    private static <X> X await(Supplier<X> attempt, Queue<Thread> waiters, BooleanSupplier more)
+            throws InterruptedException {
+        for (int round = 0; ; round++) {
+            X item = attempt.get();
+            if (item != null) {
+                return item;
+            }
+            if (round < SPINS) {
+                continue;
+            }
+            if (round < SPINS + YIELDS) {
+                Thread.yield();
+            } else {
+                Thread current = Thread.currentThread();
+                waiters.add(current);
+                try {
+                    item = attempt.get();
+                    if (item != null) {
+                        return item;
+                    }
+                    LockSupport.parkNanos(waiters, PARK_NANOS);
+                } finally {
+                    waiters.remove(current);
+                    if (more.getAsBoolean()) {
+                        signal(waiters);
+                    }
+                }
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private static void signal(Queue<Thread> waiters) {
+        Thread waiter = waiters.peek();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * A bounded ring buffer in which every slot carries a sequence number telling
+     * producers and consumers whether it is free or filled for their position.
+     */
+    private static final class Lane<X> {
+
+        private final int mask;
+        private final AtomicReferenceArray<X> items;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+        final Queue<Thread> consumers = new ConcurrentLinkedQueue<>();
+        final Queue<Thread> producers = new ConcurrentLinkedQueue<>();
+
+        Lane(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+            if (capacity > 1 << 30) {
+                throw new IllegalArgumentException("Capacity too large: " + capacity);
+            }
+            int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+            this.mask = size - 1;
+            this.items = new AtomicReferenceArray<>(size);
+            this.sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(X item) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        items.lazySet(index, item);
+                        // a volatile store, so the following check for parked consumers cannot be reordered before it
+                        sequences.set(index, position + 1);
+                        signal(consumers);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        X poll() {
+            long position = head.get();
+            while (true) {
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - (position + 1);
+                if (difference == 0) {
+                    if (head.compareAndSet(position, position + 1)) {
+                        X item = items.get(index);
+                        items.lazySet(index, null);
+                        sequences.set(index, position + mask + 1);
+                        signal(producers);
+                        return item;
+                    }
+                    position = head.get();
+                } else if (difference < 0) {
+                    return null;
+                } else {
+                    position = head.get();
+                }
+            }
+        }
+
+        /**
+         * Claims every filled slot from the head on with a single compare-and-set, rather than one per item,
+         * and wakes a parked producer once per batch. If {@code batch} throws, the claimed slots are still
+         * released, so the lane keeps working, but the items not yet added are lost, as with
+         * {@link java.util.concurrent.BlockingQueue#drainTo(Collection)}.
+         */
+        int drainTo(Collection<? super X> batch, int maxElements) {
+            Objects.requireNonNull(batch);
+
+            int drained = 0;
+            while (drained < maxElements) {
+                long position = head.get();
+                int limit = Math.min(maxElements - drained, mask + 1);
+                int ready = 0;
+                while (ready < limit && sequences.get((int) (position + ready) & mask) == position + ready + 1) {
+                    ready++;
+                }
+                if (ready == 0) {
+                    if (sequences.get((int) position & mask) - (position + 1) < 0) {
+                        break;
+                    }
+                    continue;
+                }
+                if (!head.compareAndSet(position, position + ready)) {
+                    continue;
+                }
+                int released = 0;
+                try {
+                    while (released < ready) {
+                        int index = (int) (position + released) & mask;
+                        X item = items.get(index);
+                        items.lazySet(index, null);
+                        sequences.set(index, position + released + mask + 1);
+                        released++;
+                        batch.add(item);
+                        drained++;
+                    }
+                } finally {
+                    for (; released < ready; released++) {
+                        int index = (int) (position + released) & mask;
+                        items.lazySet(index, null);
+                        sequences.set(index, position + released + mask + 1);
+                    }
+                    if (drained > 0) {
+                        signal(producers);
+                    }
+                }
+            }
+            return drained;
+        }
+
+        boolean hasItems() {
+            return tail.get() - head.get() > 0;
+        }
+
+        boolean hasSpace() {
+            return tail.get() - head.get() <= mask;
+        }
+
+        int size() {
+            long size = tail.get() - head.get();
+            return (int) Math.max(0, Math.min(size, mask + 1));
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package tech.wendt.resulttype;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * A lock-free cell holding a {@code Result} that can be shared between threads.
+ * <p>
+ * Reads are wait-free, updates are applied with compare-and-set. Update functions may be
+ * applied more than once under contention and should therefore be free of side effects.
+ * <p>
+ * If created with an {@code Executor}, listeners can be registered that are notified of updates
+ * on that executor. Rapid updates are coalesced, so listeners see the latest {@code Result}
+ * but not necessarily every intermediate one, and writers never wait for listeners.
+ * A write never fails because of its listeners: if the executor rejects the notification, it is
+ * retried on the next update, and an exception thrown by a listener is passed to the notifying
+ * thread's {@code UncaughtExceptionHandler} without keeping the other listeners from being notified.
+ *
+ * @param <T> The type of the value
+ * @param <E> The type of the error
+ */
+public final class ResultRef<T, E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ResultRef, Result> VALUE =
+            AtomicReferenceFieldUpdater.newUpdater(ResultRef.class, Result.class, "value");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ResultRef> SCHEDULED =
+            AtomicIntegerFieldUpdater.newUpdater(ResultRef.class, "scheduled");
+
+    private volatile Result<T, E> value;
+
+    private final Executor executor;
+    private final List<Consumer<? super Result<T, E>>> listeners = new CopyOnWriteArrayList<>();
+    private volatile int scheduled;
+    private volatile boolean dirty;
+    private Result<T, E> lastNotified;
+
+    /**
+     *
+     * Creates a {@code ResultRef} without listener support.
+     *
+     * @param initial The initial {@code Result}
+     * @throws NullPointerException if {@code initial} is {@code null}
+     */
+    public ResultRef(Result<T, E> initial) {
+        this.value = Objects.requireNonNull(initial);
+        this.executor = null;
+    }
+
+    /**
+     *
+     * Creates a {@code ResultRef} notifying its listeners on the given {@code Executor}.
+     *
+     * @param initial The initial {@code Result}
+     * @param executor The {@code Executor} used to notify listeners
+     * @throws NullPointerException if {@code initial} or {@code executor} is {@code null}
+     */
+    public ResultRef(Result<T, E> initial, Executor executor) {
+        this.value = Objects.requireNonNull(initial);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     *
+     * @return The current {@code Result}
+     */
+    public Result<T, E> get() {
+        return value;
+    }
+
+    /**
+     *
+     * Sets the current {@code Result}.
+     *
+     * @param result The new {@code Result}
+     * @throws NullPointerException if {@code result} is {@code null}
+     */
+    public void set(Result<T, E> result) {
+        value = Objects.requireNonNull(result);
+        signal();
+    }
+
+    /**
+     *
+     * Sets the current {@code Result} and returns the previous one.
+     *
+     * @param result The new {@code Result}
+     * @return The previous {@code Result}
+     * @throws NullPointerException if {@code result} is {@code null}
+     */
+    public Result<T, E> getAndSet(Result<T, E> result) {
+        Objects.requireNonNull(result);
+
+        @SuppressWarnings("unchecked")
+        Result<T, E> previous = VALUE.getAndSet(this, result);
+        signal();
+        return previous;
+    }
+
+    /**
+     *
+     * Sets the current {@code Result} to {@code update}, if it is the same instance as {@code expect}.
+     *
+     * @param expect The expected {@code Result} instance
+     * @param update The new {@code Result}
+     * @return {@code true} if the {@code Result} was set, otherwise {@code false}
+     * @throws NullPointerException if {@code update} is {@code null}
+     */
+    public boolean compareAndSet(Result<T, E> expect, Result<T, E> update) {
+        Objects.requireNonNull(update);
+
+        if (VALUE.compareAndSet(this, expect, update)) {
+            signal();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     *
+     * Sets the current {@code Result} to {@code update}, if it is equal to {@code expect},
+     * i.e. it has the same outcome and an equal value or error.
+     *
+     * @param expect The expected outcome
+     * @param update The new {@code Result}
+     * @return {@code true} if the {@code Result} was set, otherwise {@code false}
+     * @throws NullPointerException if {@code expect} or {@code update} is {@code null}
+     */
+    public boolean compareAndSetOutcome(Result<T, E> expect, Result<T, E> update) {
+        Objects.requireNonNull(expect);
+        Objects.requireNonNull(update);
+
+        Result<T, E> current;
+        do {
+            current = value;
+            if (!expect.equals(current)) {
+                return false;
+            }
+        } while (!VALUE.compareAndSet(this, current, update));
+        signal();
+        return true;
+    }
+
+    /**
+     *
+     * Atomically replaces the current {@code Result} with the result of applying the given function.
+     *
+     * @param updater The function producing the new {@code Result} from the current one
+     * @return The new {@code Result}
+     * @throws NullPointerException if {@code updater} is {@code null} or returns {@code null}
+     */
+    public Result<T, E> updateAndGet(UnaryOperator<Result<T, E>> updater) {
+        Objects.requireNonNull(updater);
+
+        Result<T, E> current;
+        Result<T, E> next;
+        do {
+            current = value;
+            next = Objects.requireNonNull(updater.apply(current));
+        } while (!VALUE.compareAndSet(this, current, next));
+        if (next != current) {
+            signal();
+        }
+        return next;
+    }
+
+    /**
+     *
+     * If the current {@code Result} is an {@code OkResult}, atomically replaces it with
+     * a {@code Result} of the mapped value, otherwise leaves it unchanged.
+     *
+     * @param mapper The mapping function to apply to the value, if present
+     * @return The new {@code Result}
+     * @throws NullPointerException if {@code mapper} is {@code null} or returns {@code null}
+     */
+    public Result<T, E> updateOk(UnaryOperator<T> mapper) {
+        Objects.requireNonNull(mapper);
+
+        return updateAndGet(current -> current.isOk() ? current.map(mapper) : current);
+    }
+
+    /**
+     *
+     * If the current {@code Result} is an {@code ErrResult}, atomically replaces it with
+     * a {@code Result} of the mapped error, otherwise leaves it unchanged.
+     *
+     * @param mapper The mapping function to apply to the error, if present
+     * @return The new {@code Result}
+     * @throws NullPointerException if {@code mapper} is {@code null} or returns {@code null}
+     */
+    public Result<T, E> updateError(UnaryOperator<E> mapper) {
+        Objects.requireNonNull(mapper);
+
+        return updateAndGet(current -> current.isError() ? current.mapError(mapper) : current);
+    }
+
+    /**
+     *
+     * Atomically replaces the current {@code Result} with the result of {@link Result#map(java.util.function.Function)}
+     * and returns the previous one.
+     *
+     * @param mapper The mapping function to apply to the value, if present
+     * @return The previous {@code Result}
+     * @throws NullPointerException if {@code mapper} is {@code null} or returns {@code null}
+     */
+    public Result<T, E> getAndMap(UnaryOperator<T> mapper) {
+        Objects.requireNonNull(mapper);
+
+        Result<T, E> current;
+        Result<T, E> next;
+        do {
+            current = value;
+            next = current.isOk() ? current.map(mapper) : current;
+        } while (!VALUE.compareAndSet(this, current, next));
+        if (next != current) {
+            signal();
+        }
+        return current;
+    }
+
+    /**
+     *
+     * Registers a listener notified with the latest {@code Result} after updates.
+     *
+     * @param listener The listener to be notified
+     * @throws NullPointerException if {@code listener} is {@code null}
+     * @throws IllegalStateException if the {@code ResultRef} was created without an {@code Executor}
+     */
+    public void addListener(Consumer<? super Result<T, E>> listener) {
+        Objects.requireNonNull(listener);
+        if (executor == null) {
+            throw new IllegalStateException("ResultRef was created without an executor for listeners");
+        }
+
+        listeners.add(listener);
+    }
+
+    /**
+     *
+     * Removes a previously registered listener.
+     *
+     * @param listener The listener to be removed
+     * @return {@code true} if the listener was registered, otherwise {@code false}
+     */
+    public boolean removeListener(Consumer<? super Result<T, E>> listener) {
+        return listeners.remove(listener);
+    }
+
+    private void signal() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        dirty = true;
+        if (SCHEDULED.compareAndSet(this, 0, 1)) {
+            try {
+                executor.execute(this::notifyListeners);
+            } catch (RejectedExecutionException e) {
+                // the write has already been committed; dirty stays set, so the next write retries
+                scheduled = 0;
+            }
+        }
+    }
+
+    private void notifyListeners() {
+        try {
+            do {
+                while (dirty) {
+                    dirty = false;
+                    Result<T, E> current = value;
+                    if (current != lastNotified) {
+                        lastNotified = current;
+                        for (Consumer<? super Result<T, E>> listener : listeners) {
+                            notifyListener(listener, current);
+                        }
+                    }
+                }
+                scheduled = 0;
+            } while (dirty && SCHEDULED.compareAndSet(this, 0, 1));
+        } catch (RuntimeException | Error e) {
+            scheduled = 0;
+            throw e;
+        }
+    }
+
+    private static <R> void notifyListener(Consumer<? super R> listener, R result) {
+        try {
+            listener.accept(result);
+        } catch (RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResultRef[%s]", value);
+    }
+}
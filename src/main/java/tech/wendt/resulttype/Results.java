@@ -0,0 +1,378 @@
+package tech.wendt.resulttype;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Bulk operations over arrays of {@code Result}s.
+ * <p>
+ * The loops test for {@code OkResult} and {@code ErrResult} with {@code instanceof} and access them directly,
+ * so the JIT compiler can inline them instead of dispatching every element through the {@code Result}
+ * interface. Other implementations of {@code Result} fall back to the interface methods.
+ * <p>
+ * The overloads taking a {@code ForkJoinPool} split the array into chunks of at least
+ * {@code 4096} elements, which are processed in parallel.
+ */
+public final class Results {
+
+    static final int CHUNK_SIZE = 4096;
+
+    private Results() {
+    }
+
+    /**
+     *
+     * @param results The {@code Result}s to be counted
+     * @return The number of {@code OkResult}s
+     * @throws NullPointerException if {@code results} or one of its elements is {@code null}
+     */
+    public static int countOk(Result<?, ?>[] results) {
+        return countOk(results, 0, results.length);
+    }
+
+    /**
+     *
+     * Counts the {@code OkResult}s in parallel.
+     *
+     * @param results The {@code Result}s to be counted
+     * @param pool The {@code ForkJoinPool} counting the chunks
+     * @return The number of {@code OkResult}s
+     * @throws NullPointerException if {@code results}, one of its elements or {@code pool} is {@code null}
+     */
+    public static int countOk(Result<?, ?>[] results, ForkJoinPool pool) {
+        return pool.invoke(new CountOkTask(results, 0, results.length));
+    }
+
+    /**
+     *
+     * Writes the value of each {@code Result} to {@code target} at the same index,
+     * or {@code other} if it is an {@code ErrResult}.
+     *
+     * @param results The {@code Result}s to be unwrapped
+     * @param target The array receiving the values, at least as long as {@code results}
+     * @param other The value written for an {@code ErrResult}, may be {@code null}
+     * @param <T> The type of the value
+     * @return {@code target}
+     * @throws NullPointerException if {@code results}, one of its elements or {@code target} is {@code null}
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code results}
+     */
+    public static <T> T[] unwrapOrElse(Result<? extends T, ?>[] results, T[] target, T other) {
+        checkTarget(results, target);
+
+        unwrapOrElse(results, target, other, 0, results.length);
+        return target;
+    }
+
+    /**
+     *
+     * Unwraps the {@code Result}s in parallel, see {@link #unwrapOrElse(Result[], Object[], Object)}.
+     *
+     * @param results The {@code Result}s to be unwrapped
+     * @param target The array receiving the values, at least as long as {@code results}
+     * @param other The value written for an {@code ErrResult}, may be {@code null}
+     * @param pool The {@code ForkJoinPool} unwrapping the chunks
+     * @param <T> The type of the value
+     * @return {@code target}
+     * @throws NullPointerException if {@code results}, one of its elements, {@code target} or {@code pool} is {@code null}
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code results}
+     */
+    public static <T> T[] unwrapOrElse(Result<? extends T, ?>[] results, T[] target, T other, ForkJoinPool pool) {
+        checkTarget(results, target);
+
+        pool.invoke(new UnwrapOrElseTask<>(results, target, other, 0, results.length));
+        return target;
+    }
+
+    /**
+     *
+     * Maps the value of each {@code Result} and writes the mapped {@code Result} to {@code target}
+     * at the same index. {@code ErrResult}s are written unchanged, as with {@link Result#map(Function)}.
+     *
+     * @param results The {@code Result}s to be mapped
+     * @param mapper The mapping function to apply to each value
+     * @param target The array receiving the mapped {@code Result}s, at least as long as {@code results}
+     * @param <T> The type of the value
+     * @param <U> The type of the mapped value
+     * @param <E> The type of the error
+     * @return {@code target}
+     * @throws NullPointerException if {@code results}, one of its elements, {@code mapper} or {@code target}
+     *         is {@code null}, or {@code mapper} returns {@code null}
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code results}
+     */
+    public static <T, U, E> Result<U, E>[] mapAllInto(Result<T, E>[] results, Function<? super T, ? extends U> mapper,
+                                                      Result<U, E>[] target) {
+        Objects.requireNonNull(mapper);
+        checkTarget(results, target);
+
+        mapAllInto(results, mapper, target, 0, results.length);
+        return target;
+    }
+
+    /**
+     *
+     * Maps the {@code Result}s in parallel, see {@link #mapAllInto(Result[], Function, Result[])}.
+     *
+     * @param results The {@code Result}s to be mapped
+     * @param mapper The mapping function to apply to each value, which must be safe to call concurrently
+     * @param target The array receiving the mapped {@code Result}s, at least as long as {@code results}
+     * @param pool The {@code ForkJoinPool} mapping the chunks
+     * @param <T> The type of the value
+     * @param <U> The type of the mapped value
+     * @param <E> The type of the error
+     * @return {@code target}
+     * @throws NullPointerException if {@code results}, one of its elements, {@code mapper}, {@code target}
+     *         or {@code pool} is {@code null}, or {@code mapper} returns {@code null}
+     * @throws IllegalArgumentException if {@code target} is shorter than {@code results}
+     */
+    public static <T, U, E> Result<U, E>[] mapAllInto(Result<T, E>[] results, Function<? super T, ? extends U> mapper,
+                                                      Result<U, E>[] target, ForkJoinPool pool) {
+        Objects.requireNonNull(mapper);
+        checkTarget(results, target);
+
+        pool.invoke(new MapAllIntoTask<>(results, mapper, target, 0, results.length));
+        return target;
+    }
+
+    /**
+     *
+     * @param results The {@code Result}s to be searched
+     * @return The index of the first {@code ErrResult}, or {@code -1} if all are {@code OkResult}s
+     * @throws NullPointerException if {@code results} or one of the searched elements is {@code null}
+     */
+    public static int indexOfFirstError(Result<?, ?>[] results) {
+        return indexOfFirstError(results, 0, results.length);
+    }
+
+    /**
+     *
+     * Searches the {@code Result}s in parallel; chunks after a chunk containing an error are skipped
+     * if they have not been started yet.
+     *
+     * @param results The {@code Result}s to be searched
+     * @param pool The {@code ForkJoinPool} searching the chunks
+     * @return The index of the first {@code ErrResult}, or {@code -1} if all are {@code OkResult}s
+     * @throws NullPointerException if {@code results}, one of the searched elements or {@code pool} is {@code null}
+     */
+    public static int indexOfFirstError(Result<?, ?>[] results, ForkJoinPool pool) {
+        return pool.invoke(new IndexOfFirstErrorTask(results, 0, results.length));
+    }
+
+    /**
+     *
+     * Reorders {@code results} so that all {@code OkResult}s precede all {@code ErrResult}s.
+     * The relative order of the elements is not preserved.
+     *
+     * @param results The {@code Result}s to be partitioned
+     * @param <T> The type of the value
+     * @param <E> The type of the error
+     * @return The number of {@code OkResult}s, which is the index of the first {@code ErrResult}
+     * @throws NullPointerException if {@code results} or one of its elements is {@code null}
+     */
+    public static <T, E> int partitionInPlace(Result<T, E>[] results) {
+        int low = 0;
+        int high = results.length - 1;
+        while (true) {
+            while (low <= high && isOk(results[low])) {
+                low++;
+            }
+            while (low < high && !isOk(results[high])) {
+                high--;
+            }
+            if (low >= high) {
+                return low;
+            }
+            Result<T, E> swap = results[low];
+            results[low++] = results[high];
+            results[high--] = swap;
+        }
+    }
+
+    private static boolean isOk(Result<?, ?> result) {
+        if (result instanceof OkResult) {
+            return true;
+        }
+        if (result instanceof ErrResult) {
+            return false;
+        }
+        return result.isOk();
+    }
+
+    private static void checkTarget(Object[] results, Object[] target) {
+        if (target.length < results.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Target of length %d is shorter than %d results", target.length, results.length));
+        }
+    }
+
+    private static int countOk(Result<?, ?>[] results, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (isOk(results[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static <T> void unwrapOrElse(Result<? extends T, ?>[] results, T[] target, T other, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Result<? extends T, ?> result = results[i];
+            if (result instanceof OkResult) {
+                target[i] = ((OkResult<? extends T, ?>) result).get();
+            } else if (result instanceof ErrResult) {
+                target[i] = other;
+            } else {
+                target[i] = result.isOk() ? result.get() : other;
+            }
+        }
+    }
+
+    private static <T, U, E> void mapAllInto(Result<T, E>[] results, Function<? super T, ? extends U> mapper,
+                                             Result<U, E>[] target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Result<T, E> result = results[i];
+            if (result instanceof OkResult) {
+                target[i] = new OkResult<>(mapper.apply(((OkResult<T, E>) result).get()));
+            } else if (result instanceof ErrResult) {
+                @SuppressWarnings("unchecked")
+                Result<U, E> error = (Result<U, E>) result;
+                target[i] = error;
+            } else {
+                target[i] = result.map(mapper::apply);
+            }
+        }
+    }
+
+    private static int indexOfFirstError(Result<?, ?>[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isOk(results[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class CountOkTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Result<?, ?>[] results;
+        private final int from;
+        private final int to;
+
+        CountOkTask(Result<?, ?>[] results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return countOk(results, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            CountOkTask right = new CountOkTask(results, middle, to);
+            right.fork();
+            int left = new CountOkTask(results, from, middle).compute();
+            return left + right.join();
+        }
+    }
+
+    private static final class UnwrapOrElseTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Result<? extends T, ?>[] results;
+        private final T[] target;
+        private final T other;
+        private final int from;
+        private final int to;
+
+        UnwrapOrElseTask(Result<? extends T, ?>[] results, T[] target, T other, int from, int to) {
+            this.results = results;
+            this.target = target;
+            this.other = other;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                unwrapOrElse(results, target, other, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new UnwrapOrElseTask<>(results, target, other, from, middle),
+                    new UnwrapOrElseTask<>(results, target, other, middle, to));
+        }
+    }
+
+    private static final class MapAllIntoTask<T, U, E> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Result<T, E>[] results;
+        private final Function<? super T, ? extends U> mapper;
+        private final Result<U, E>[] target;
+        private final int from;
+        private final int to;
+
+        MapAllIntoTask(Result<T, E>[] results, Function<? super T, ? extends U> mapper, Result<U, E>[] target,
+                       int from, int to) {
+            this.results = results;
+            this.mapper = mapper;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                mapAllInto(results, mapper, target, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MapAllIntoTask<>(results, mapper, target, from, middle),
+                    new MapAllIntoTask<>(results, mapper, target, middle, to));
+        }
+    }
+
+    private static final class IndexOfFirstErrorTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Result<?, ?>[] results;
+        private final int from;
+        private final int to;
+
+        IndexOfFirstErrorTask(Result<?, ?>[] results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return indexOfFirstError(results, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            IndexOfFirstErrorTask right = new IndexOfFirstErrorTask(results, middle, to);
+            right.fork();
+            int left = new IndexOfFirstErrorTask(results, from, middle).compute();
+            if (left >= 0) {
+                if (!right.tryUnfork()) {
+                    right.join();
+                }
+                return left;
+            }
+            return right.join();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package tech.wendt.resulttype;
+
+/**
+ * An {@code ErrResult} carrying the provenance trail of its error, created only when
+ * {@link Provenance} is enabled.
+ * <p>
+ * The error is read from the originating {@code ErrResult}, so a lazy error stays unevaluated
+ * until it is accessed.
+ *
+ * @param <T> The type of the value
+ * @param <E> The type of the error
+ */
+final class TracedErrResult<T, E> extends ErrResult<T, E> {
+
+    private final ErrResult<?, E> origin;
+    private final Breadcrumbs breadcrumbs;
+
+    TracedErrResult(ErrResult<?, E> origin, Breadcrumbs breadcrumbs) {
+        this.origin = origin;
+        this.breadcrumbs = breadcrumbs;
+    }
+
+    @Override
+    E error() {
+        return origin.error();
+    }
+
+    @Override
+    Breadcrumbs breadcrumbs() {
+        return breadcrumbs;
+    }
+
+    @Override
+    ErrResult<?, E> origin() {
+        return origin;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Result[Err[%s], Trail[%s]]", error(), breadcrumbs);
+    }
+}
@@ -0,0 +1,97 @@
+package tech.wendt.resulttype;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrCodeResultTest {
+
+    @Test(expected = NoSuchElementException.class)
+    public void get() {
+        CodeResult.error(404).get();
+    }
+
+    @Test
+    public void getErrorCode() {
+        assertThat(CodeResult.error(404).getErrorCode()).isEqualTo(404);
+        assertThat(CodeResult.error(404).getOptional()).isEmpty();
+    }
+
+    @Test
+    public void isError() {
+        assertThat(CodeResult.error(404).isError()).isTrue();
+        assertThat(CodeResult.error(404).isOk()).isFalse();
+    }
+
+    @Test
+    public void ifPresent() {
+        List<Object> result = new ArrayList<>();
+        CodeResult.error(404).ifPresent(result::add);
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void cached() {
+        assertThat(CodeResult.error(404)).isSameAs(CodeResult.error(404));
+        assertThat(CodeResult.error(-1)).isSameAs(CodeResult.error(-1));
+        assertThat(CodeResult.error(100_000)).isNotSameAs(CodeResult.error(100_000));
+        assertThat(CodeResult.error(100_000)).isEqualTo(CodeResult.error(100_000));
+    }
+
+    @Test
+    public void map() {
+        CodeResult<Integer> result = CodeResult.error(404);
+        assertThat(result.map(value -> value + 1)).isSameAs(result);
+    }
+
+    @Test
+    public void mapErrorCode() {
+        CodeResult<Integer> result = CodeResult.<Integer>error(404).mapErrorCode(code -> code + 1);
+        assertThat(result.getErrorCode()).isEqualTo(405);
+        assertThat(result).isSameAs(CodeResult.error(405));
+    }
+
+    @Test
+    public void flatMap() {
+        CodeResult<Integer> result = CodeResult.error(404);
+        assertThat(result.flatMap(value -> CodeResult.of(value + 1))).isSameAs(result);
+    }
+
+    @Test
+    public void or() {
+        assertThat(CodeResult.<Integer>error(404).or(() -> CodeResult.of(2)).get()).isEqualTo(2);
+    }
+
+    @Test
+    public void fold() {
+        String result = CodeResult.error(404).fold(value -> "value " + value, code -> "code " + code);
+        assertThat(result).isEqualTo("code 404");
+    }
+
+    @Test
+    public void orElse() {
+        assertThat(CodeResult.<Integer>error(404).orElse(2)).isEqualTo(2);
+        assertThat(CodeResult.<Integer>error(404).orElseGet(code -> code * 2)).isEqualTo(808);
+    }
+
+    @Test
+    public void toResult() {
+        Result<Integer, String> result = CodeResult.<Integer>error(404).toResult(code -> "error " + code);
+        assertThat(result).isEqualTo(Result.error("error 404"));
+    }
+
+    @Test
+    public void fromResult() {
+        CodeResult<Integer> result = CodeResult.fromResult(Result.<Integer, String>error("four"), String::length);
+        assertThat(result.getErrorCode()).isEqualTo(4);
+    }
+
+    @Test
+    public void toStringFormat() {
+        assertThat(CodeResult.error(404).toString()).isEqualTo("CodeResult[Err[404]]");
+    }
+}
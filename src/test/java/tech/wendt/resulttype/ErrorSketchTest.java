@@ -0,0 +1,160 @@
+package tech.wendt.resulttype;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrorSketchTest {
+
+    @Test
+    public void exactBelowCapacity() {
+        ErrorSketch<String> sketch = ErrorSketch.create(4, 1);
+        for (int i = 0; i < 3; i++) {
+            sketch.record("a");
+        }
+        sketch.record("b");
+
+        ErrorSketch.Snapshot<String> snapshot = sketch.snapshot();
+        assertThat(snapshot.getEntries()).containsExactly(
+                new ErrorSketch.Entry<>("a", 3, 0),
+                new ErrorSketch.Entry<>("b", 1, 0));
+        assertThat(snapshot.getTotal()).isEqualTo(4);
+        assertThat(snapshot.getUntrackedBound()).isEqualTo(0);
+    }
+
+    @Test
+    public void heavyHittersSurviveNoise() {
+        ErrorSketch<String> sketch = ErrorSketch.create(10, 4);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.record(i % 2 == 0 ? "timeout" : "noise-" + i);
+            if (i % 5 == 0) {
+                sketch.record("refused");
+            }
+        }
+
+        List<ErrorSketch.Entry<String>> top = sketch.snapshot().top(2);
+        assertThat(top).extracting(ErrorSketch.Entry::getValue).containsExactly("timeout", "refused");
+        assertThat(top.get(0).getCount()).isGreaterThanOrEqualTo(5000);
+        assertThat(top.get(0).getGuaranteedCount()).isLessThanOrEqualTo(5000);
+        assertThat(sketch.snapshot().getEntries().size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    public void tap() {
+        ErrorSketch<String> sketch = ErrorSketch.create(4);
+        List<Result<Integer, String>> results = IntStream.range(0, 10)
+                .mapToObj(i -> i % 3 == 0 ? Result.<Integer, String>error("error") : Result.<Integer, String>of(i))
+                .map(sketch::tap)
+                .collect(Collectors.toList());
+
+        assertThat(results).hasSize(10);
+        assertThat(sketch.snapshot().getEntries()).containsExactly(new ErrorSketch.Entry<>("error", 4, 0));
+    }
+
+    @Test
+    public void collector() {
+        ErrorSketch.Snapshot<String> snapshot = IntStream.range(0, 100_000).parallel()
+                .mapToObj(i -> i % 4 == 0 ? Result.<Integer, String>error("e" + (i % 12)) : Result.<Integer, String>of(i))
+                .collect(ErrorSketch.collector(8));
+
+        assertThat(snapshot.getTotal()).isEqualTo(25_000);
+        assertThat(snapshot.getEntries()).extracting(ErrorSketch.Entry::getValue)
+                .containsExactlyInAnyOrder("e0", "e4", "e8");
+        assertThat(snapshot.getEntries()).allSatisfy(entry -> {
+            assertThat(entry.getCount()).isGreaterThanOrEqualTo(8333);
+            assertThat(entry.getGuaranteedCount()).isLessThanOrEqualTo(8334);
+        });
+    }
+
+    @Test
+    public void merge() {
+        ErrorSketch<String> left = ErrorSketch.create(2, 1);
+        ErrorSketch<String> right = ErrorSketch.create(2, 1);
+        record(left, "a", 10);
+        record(left, "b", 5);
+        record(left, "c", 1);
+        record(right, "a", 7);
+        record(right, "d", 3);
+
+        ErrorSketch.Snapshot<String> merged = left.snapshot().merge(right.snapshot());
+        assertThat(merged.getTotal()).isEqualTo(26);
+        assertThat(merged.getEntries()).hasSize(2);
+        assertThat(merged.getEntries().get(0)).isEqualTo(new ErrorSketch.Entry<>("a", 17, 0));
+        assertThat(merged.getUntrackedBound()).isGreaterThanOrEqualTo(6);
+    }
+
+    @Test
+    public void concurrentRecording() throws Exception {
+        ErrorSketch<Integer> sketch = ErrorSketch.create(16, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sketch.record(i % 8);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ErrorSketch.Snapshot<Integer> snapshot = sketch.snapshot();
+        assertThat(snapshot.getTotal()).isEqualTo(40_000);
+        assertThat(snapshot.getEntries()).hasSize(8)
+                .allSatisfy(entry -> assertThat(entry.getCount()).isEqualTo(5000));
+    }
+
+    @Test
+    public void concurrentRecording_sameValue() throws Exception {
+        ErrorSketch<String> sketch = ErrorSketch.create(4, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sketch.record("timeout");
+                        sketch.record("noise-" + thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ErrorSketch.Snapshot<String> snapshot = sketch.snapshot();
+        assertThat(snapshot.getTotal()).isEqualTo(80_000);
+        ErrorSketch.Entry<String> top = snapshot.getEntries().get(0);
+        assertThat(top.getValue()).isEqualTo("timeout");
+        assertThat(top.getGuaranteedCount()).isLessThanOrEqualTo(40_000);
+        assertThat(top.getCount()).isGreaterThanOrEqualTo(40_000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_invalidCapacity() {
+        ErrorSketch.create(0);
+    }
+
+    private static void record(ErrorSketch<String> sketch, String error, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.record(error);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package tech.wendt.resulttype;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgeTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void fastPrimary() throws Exception {
+        Hedge hedge = Hedge.fixed(1, TimeUnit.SECONDS, scheduler, executor);
+        Result<String, String> result = hedge.<String, String>call(() -> Result.of("primary"),
+                () -> Result.of("backup")).get(5, TimeUnit.SECONDS);
+        assertThat(result).isEqualTo(Result.of("primary"));
+        assertThat(hedge.stats().getCalls()).isEqualTo(1);
+        assertThat(hedge.stats().getHedges()).isEqualTo(0);
+    }
+
+    @Test
+    public void slowPrimary() throws Exception {
+        Hedge hedge = Hedge.fixed(10, TimeUnit.MILLISECONDS, scheduler, executor);
+        CountDownLatch primaryCancelled = new CountDownLatch(1);
+        Supplier<Result<String, String>> primary = () -> {
+            try {
+                Thread.sleep(10_000);
+                return Result.of("primary");
+            } catch (InterruptedException e) {
+                primaryCancelled.countDown();
+                return Result.error("interrupted");
+            }
+        };
+        Result<String, String> result = hedge.call(primary, () -> Result.of("backup")).get(5, TimeUnit.SECONDS);
+        assertThat(result).isEqualTo(Result.of("backup"));
+        assertThat(primaryCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(hedge.stats().getHedges()).isEqualTo(1);
+        assertThat(hedge.stats().getBackupWins()).isEqualTo(1);
+        assertThat(hedge.stats().getHedgeRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void primaryFailsBeforeDelay() throws Exception {
+        Hedge hedge = Hedge.fixed(1, TimeUnit.SECONDS, scheduler, executor);
+        Result<String, String> result = hedge.<String, String>call(() -> Result.error("primary"),
+                () -> Result.of("backup")).get(5, TimeUnit.SECONDS);
+        assertThat(result).isEqualTo(Result.error("primary"));
+        assertThat(hedge.stats().getHedges()).isEqualTo(0);
+    }
+
+    @Test
+    public void allAttemptsFail() throws Exception {
+        Hedge hedge = Hedge.fixed(10, TimeUnit.MILLISECONDS, scheduler, executor);
+        CountDownLatch backupDone = new CountDownLatch(1);
+        Supplier<Result<String, String>> primary = () -> {
+            try {
+                backupDone.await(5, TimeUnit.SECONDS);
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Result.error("primary");
+        };
+        Supplier<Result<String, String>> backup = () -> {
+            backupDone.countDown();
+            return Result.error("backup");
+        };
+        Result<String, String> result = hedge.call(primary, backup).get(5, TimeUnit.SECONDS);
+        assertThat(result).isEqualTo(Result.error("primary"));
+    }
+
+    @Test
+    public void adaptiveDelay() throws Exception {
+        Hedge hedge = Hedge.adaptive(90, 1, TimeUnit.SECONDS, scheduler, executor);
+        assertThat(hedge.stats().getDelayNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < 256; i++) {
+            hedge.<Integer, String>call(() -> Result.of(1)).get(5, TimeUnit.SECONDS);
+        }
+        assertThat(hedge.stats().getDelayNanos()).isLessThan(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void rejectedBackup() throws Exception {
+        ExecutorService single = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        try {
+            Hedge hedge = Hedge.fixed(10, TimeUnit.MILLISECONDS, scheduler, single);
+            Supplier<Result<String, String>> primary = () -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Result.error("primary");
+            };
+            Result<String, String> result = hedge.call(primary, () -> Result.of("backup")).get(5, TimeUnit.SECONDS);
+            assertThat(result).isEqualTo(Result.error("primary"));
+            assertThat(hedge.stats().getHedges()).isEqualTo(0);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void rejectedBackup_primaryWins() throws Exception {
+        ExecutorService single = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        try {
+            Hedge hedge = Hedge.fixed(10, TimeUnit.MILLISECONDS, scheduler, single);
+            Supplier<Result<String, String>> primary = () -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Result.of("primary");
+            };
+            Result<String, String> result = hedge.call(primary, () -> Result.of("backup")).get(5, TimeUnit.SECONDS);
+            assertThat(result).isEqualTo(Result.of("primary"));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void rejectedTimer_primaryRunsUnhedged() throws Exception {
+        ScheduledExecutorService stopped = Executors.newSingleThreadScheduledExecutor();
+        stopped.shutdown();
+        Hedge hedge = Hedge.fixed(10, TimeUnit.MILLISECONDS, stopped, executor);
+        Supplier<Result<String, String>> primary = () -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Result.of("primary");
+        };
+        Result<String, String> result = hedge.call(primary, () -> Result.of("backup")).get(5, TimeUnit.SECONDS);
+        assertThat(result).isEqualTo(Result.of("primary"));
+        assertThat(hedge.stats().getCalls()).isEqualTo(1);
+        assertThat(hedge.stats().getHedges()).isEqualTo(0);
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void rejectedPrimary() {
+        ExecutorService stopped = Executors.newSingleThreadExecutor();
+        stopped.shutdown();
+        Hedge.fixed(10, TimeUnit.MILLISECONDS, scheduler, stopped).call(() -> Result.of("primary"));
+    }
+
+    @Test
+    public void callerRunsExecutor() throws Exception {
+        ThreadPoolExecutor single = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            single.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Hedge hedge = Hedge.fixed(0, TimeUnit.MILLISECONDS, scheduler, single);
+            Thread caller = Thread.currentThread();
+            CompletableFuture<Result<String, String>> future = hedge.call(() -> {
+                assertThat(Thread.currentThread()).isSameAs(caller);
+                return Result.of("primary");
+            }, () -> Result.of("backup"));
+            assertThat(future).isDone();
+            assertThat(future.get()).isEqualTo(Result.of("primary"));
+            assertThat(hedge.stats().getHedges()).isEqualTo(0);
+        } finally {
+            release.countDown();
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void adaptiveDelay_primaryWinsAfterDelay() throws Exception {
+        long primaryLatency = TimeUnit.MILLISECONDS.toNanos(5);
+        Hedge hedge = Hedge.adaptive(10, 1, TimeUnit.MILLISECONDS, scheduler, executor);
+        Supplier<Result<Integer, String>> primary = () -> sleep(primaryLatency, 1);
+        Supplier<Result<Integer, String>> backup = () -> sleep(TimeUnit.SECONDS.toNanos(10), 2);
+        for (int i = 0; i < 256; i++) {
+            assertThat(hedge.call(primary, backup).get(5, TimeUnit.SECONDS)).isEqualTo(Result.of(1));
+        }
+        // cancelled backups must not feed their truncated elapsed times into the window
+        assertThat(hedge.stats().getDelayNanos()).isGreaterThanOrEqualTo(primaryLatency);
+    }
+
+    private static Result<Integer, String> sleep(long nanos, int value) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return Result.of(value);
+        } catch (InterruptedException e) {
+            return Result.error("interrupted");
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptive_invalidPercentile() {
+        Hedge.adaptive(101, 1, TimeUnit.SECONDS, scheduler, executor);
+    }
+}
@@ -0,0 +1,156 @@
+package tech.wendt.resulttype;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedRecordReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final RecordParser<Long, String> NUMBER = (buffer, offset, length) -> {
+        if (length == 0) {
+            return Result.error("empty");
+        }
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte digit = buffer.get(i);
+            if (digit < '0' || digit > '9') {
+                return Result.error("not a number");
+            }
+            value = value * 10 + digit - '0';
+        }
+        return Result.of(value);
+    };
+
+    @Test
+    public void records() throws IOException {
+        Path file = write("1\n22\nx\n333");
+        try (MappedRecordReader<Long, String> reader = MappedRecordReader.open(file, NUMBER)) {
+            List<Result<Long, RecordError<String>>> records = reader.records().collect(Collectors.toList());
+            assertThat(records).containsExactly(
+                    Result.of(1L),
+                    Result.of(22L),
+                    Result.error(new RecordError<>(5, "not a number")),
+                    Result.of(333L));
+        }
+    }
+
+    @Test
+    public void trailingDelimiter() throws IOException {
+        Path file = write("1\n\n2\n");
+        try (MappedRecordReader<Long, String> reader = MappedRecordReader.open(file, NUMBER)) {
+            List<Result<Long, RecordError<String>>> records = reader.records().collect(Collectors.toList());
+            assertThat(records).containsExactly(
+                    Result.of(1L),
+                    Result.error(new RecordError<>(2, "empty")),
+                    Result.of(2L));
+        }
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        Path file = write("");
+        try (MappedRecordReader<Long, String> reader = MappedRecordReader.open(file, NUMBER)) {
+            assertThat(reader.records().count()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void customDelimiterAndSmallWindows() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append(';');
+        }
+        Path file = write(content.toString());
+        try (MappedRecordReader<Long, String> reader = MappedRecordReader.open(file, (byte) ';', 16, NUMBER)) {
+            List<Long> records = reader.records().map(Result::get).collect(Collectors.toList());
+            assertThat(records).hasSize(1000);
+            assertThat(records.get(999)).isEqualTo(999L);
+        }
+    }
+
+    @Test
+    public void recordOfWindowSize() throws IOException {
+        Path file = write("1234\n5\n6789\n12\n3456");
+        try (MappedRecordReader<Long, String> reader = MappedRecordReader.open(file, (byte) '\n', 4, NUMBER)) {
+            List<Long> records = reader.records().map(Result::get).collect(Collectors.toList());
+            assertThat(records).containsExactly(1234L, 5L, 6789L, 12L, 3456L);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void lastRecordLongerThanWindow() throws IOException {
+        Path file = write("1\n12345");
+        try (MappedRecordReader<Long, String> reader = MappedRecordReader.open(file, (byte) '\n', 4, NUMBER)) {
+            reader.records().count();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void recordLongerThanWindow() throws IOException {
+        Path file = write("1\n123456789\n2");
+        try (MappedRecordReader<Long, String> reader = MappedRecordReader.open(file, (byte) '\n', 4, NUMBER)) {
+            reader.records().count();
+        }
+    }
+
+    @Test
+    public void parallel() throws IOException {
+        StringBuilder content = new StringBuilder();
+        long expectedSum = 0;
+        int lines = 200_000;
+        for (int i = 0; i < lines; i++) {
+            if (i % 1000 == 0) {
+                content.append("bad\n");
+            } else {
+                content.append(i).append('\n');
+                expectedSum += i;
+            }
+        }
+        Path file = write(content.toString());
+        try (MappedRecordReader<Long, String> reader = MappedRecordReader.open(file, NUMBER)) {
+            Spliterator<Result<Long, RecordError<String>>> spliterator = reader.spliterator();
+            assertThat(spliterator.trySplit()).isNotNull();
+
+            List<Result<Long, RecordError<String>>> records = reader.records().parallel().collect(Collectors.toList());
+            assertThat(records).hasSize(lines);
+            assertThat(records.stream().filter(Result::isOk).mapToLong(Result::get).sum()).isEqualTo(expectedSum);
+            assertThat(records.get(1000).getError().getOffset())
+                    .isEqualTo(content.indexOf("bad", content.indexOf("999\n")));
+        }
+    }
+
+    @Test
+    public void bufferRegion() throws IOException {
+        Path file = write("ab\ncd");
+        RecordParser<String, String> text = (ByteBuffer buffer, int offset, int length) -> {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(offset + i);
+            }
+            return Result.of(new String(bytes, StandardCharsets.US_ASCII));
+        };
+        try (MappedRecordReader<String, String> reader = MappedRecordReader.open(file, text)) {
+            assertThat(reader.records().map(Result::get)).containsExactly("ab", "cd");
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+}
@@ -0,0 +1,96 @@
+package tech.wendt.resulttype;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MutableResultTest {
+
+    @Test
+    public void setOk() {
+        MutableResult<Integer, String> result = new MutableResult<>(false);
+        result.setOk(1);
+        assertThat(result.isSet()).isTrue();
+        assertThat(result.isOk()).isTrue();
+        assertThat(result.isError()).isFalse();
+        assertThat(result.get()).isEqualTo(1);
+        assertThat(result.orElse(2)).isEqualTo(1);
+    }
+
+    @Test
+    public void setError() {
+        MutableResult<Integer, String> result = new MutableResult<>(false);
+        result.setError("error");
+        assertThat(result.isOk()).isFalse();
+        assertThat(result.isError()).isTrue();
+        assertThat(result.getError()).isEqualTo("error");
+        assertThat(result.orElse(2)).isEqualTo(2);
+    }
+
+    @Test
+    public void reuse() {
+        MutableResult<Integer, String> result = new MutableResult<>(true);
+        for (int i = 0; i < 10; i++) {
+            if (i % 2 == 0) {
+                result.setOk(i);
+                assertThat(result.get()).isEqualTo(i);
+            } else {
+                result.setError("odd " + i);
+                assertThat(result.getError()).isEqualTo("odd " + i);
+            }
+            result.reset();
+        }
+        assertThat(result.isSet()).isFalse();
+    }
+
+    @Test
+    public void toResult() {
+        MutableResult<Integer, String> result = new MutableResult<>(false);
+        assertThat(result.setOk(1).toResult()).isEqualTo(Result.of(1));
+        assertThat(result.reset().setError("error").toResult()).isEqualTo(Result.error("error"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void toResult_empty() {
+        new MutableResult<Integer, String>(false).toResult();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void get_empty() {
+        new MutableResult<Integer, String>(false).get();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void get_afterReset_debug() {
+        MutableResult<Integer, String> result = new MutableResult<>(true);
+        result.setOk(1).reset();
+        result.get();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void isOk_afterReset_debug() {
+        MutableResult<Integer, String> result = new MutableResult<>(true);
+        result.setOk(1).reset();
+        result.isOk();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void setOk_withoutReset_debug() {
+        new MutableResult<Integer, String>(true).setOk(1).setOk(2);
+    }
+
+    @Test
+    public void setOk_withoutReset() {
+        MutableResult<Integer, String> result = new MutableResult<>(false);
+        assertThat(result.setError("error").setOk(2).get()).isEqualTo(2);
+    }
+
+    @Test
+    public void toStringFormat() {
+        MutableResult<Integer, String> result = new MutableResult<>(false);
+        assertThat(result.toString()).isEqualTo("MutableResult[Empty]");
+        assertThat(result.setOk(1).toString()).isEqualTo("MutableResult[Ok[1]]");
+    }
+}
@@ -0,0 +1,96 @@
+package tech.wendt.resulttype;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OkCodeResultTest {
+
+    @Test
+    public void get() {
+        assertThat(CodeResult.of(1).get()).isEqualTo(1);
+        assertThat(CodeResult.of(1).getOptional()).contains(1);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void getErrorCode() {
+        CodeResult.of(1).getErrorCode();
+    }
+
+    @Test
+    public void isOk() {
+        assertThat(CodeResult.of(1).isOk()).isTrue();
+        assertThat(CodeResult.of(1).isError()).isFalse();
+    }
+
+    @Test
+    public void ifPresent() {
+        List<Integer> result = new ArrayList<>();
+        CodeResult.of(1).ifPresent(result::add);
+        assertThat(result).containsExactly(1);
+    }
+
+    @Test
+    public void map() {
+        CodeResult<Integer> result = CodeResult.of(1).map(value -> value + 1);
+        assertThat(result.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void mapErrorCode() {
+        CodeResult<Integer> result = CodeResult.of(1);
+        assertThat(result.mapErrorCode(code -> code + 1)).isSameAs(result);
+    }
+
+    @Test
+    public void flatMap() {
+        assertThat(CodeResult.of(1).flatMap(value -> CodeResult.of(value + 1)).get()).isEqualTo(2);
+        assertThat(CodeResult.of(1).flatMap(value -> CodeResult.error(404)).getErrorCode()).isEqualTo(404);
+    }
+
+    @Test
+    public void or() {
+        assertThat(CodeResult.of(1).or(() -> CodeResult.of(2)).get()).isEqualTo(1);
+    }
+
+    @Test
+    public void fold() {
+        String result = CodeResult.of(1).fold(value -> "value " + value, code -> "code " + code);
+        assertThat(result).isEqualTo("value 1");
+    }
+
+    @Test
+    public void orElse() {
+        assertThat(CodeResult.of(1).orElse(2)).isEqualTo(1);
+        assertThat(CodeResult.of(1).orElseGet(code -> code)).isEqualTo(1);
+    }
+
+    @Test
+    public void toResult() {
+        Result<Integer, String> result = CodeResult.of(1).toResult(code -> "error " + code);
+        assertThat(result).isEqualTo(Result.of(1));
+    }
+
+    @Test
+    public void fromResult() {
+        CodeResult<Integer> result = CodeResult.fromResult(Result.<Integer, String>of(1), String::length);
+        assertThat(result).isEqualTo(CodeResult.of(1));
+    }
+
+    @Test
+    public void equals() {
+        assertThat(CodeResult.of(1)).isEqualTo(CodeResult.of(1));
+        assertThat(CodeResult.of(1)).isNotEqualTo(CodeResult.of(2));
+        assertThat(CodeResult.of(1)).isNotEqualTo(CodeResult.error(1));
+        assertThat(CodeResult.of(1).hashCode()).isEqualTo(CodeResult.of(1).hashCode());
+    }
+
+    @Test
+    public void toStringFormat() {
+        assertThat(CodeResult.of(1).toString()).isEqualTo("CodeResult[Ok[1]]");
+    }
+}
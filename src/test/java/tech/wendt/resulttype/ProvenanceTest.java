@@ -0,0 +1,111 @@
+package tech.wendt.resulttype;
+
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs in a separate surefire execution with {@code tech.wendt.resulttype.provenance=true}.
+ */
+public class ProvenanceTest {
+
+    @Test
+    public void enabled() {
+        assertThat(Provenance.isEnabled()).isTrue();
+    }
+
+    @Test
+    public void flatMap_recordsLabel() {
+        Result<Integer, String> result = Result.<Integer, String>of(1)
+                .flatMap(Provenance.label("validate", v -> Result.of(v + 1)))
+                .flatMap(Provenance.label("lookup", v -> Result.error("missing " + v)));
+
+        assertThat(Provenance.trail(result)).containsExactly("lookup");
+        assertThat(result.toString()).isEqualTo("Result[Err[missing 2], Trail[lookup]]");
+    }
+
+    @Test
+    public void mapError_appendsToTrail() {
+        Result<Integer, String> result = Result.<Integer, String>of(1)
+                .<Integer>flatMap(Provenance.label("lookup", v -> Result.error("missing")))
+                .mapError(Provenance.label("wrap", e -> "wrapped " + e))
+                .map(v -> v + 1);
+
+        assertThat(Provenance.trail(result)).containsExactly("lookup", "wrap");
+        assertThat(result.getError()).isEqualTo("wrapped missing");
+        assertThat(result.toString()).isEqualTo("Result[Err[wrapped missing], Trail[lookup > wrap]]");
+    }
+
+    @Test
+    public void flatMapError_joinsTrails() {
+        Result<Integer, String> fallback = Result.<Integer, String>of(2)
+                .flatMap(Provenance.label("fallback", v -> Result.error("no fallback")));
+        Result<Integer, String> result = Result.<Integer, String>error("primary")
+                .flatMapError(Provenance.label("recover", e -> fallback));
+
+        assertThat(Provenance.trail(result)).containsExactly("fallback", "recover");
+    }
+
+    @Test
+    public void flatMapError_ok() {
+        Result<Integer, String> result = Result.<Integer, String>error("primary")
+                .flatMapError(e -> Result.of(1));
+
+        assertThat(Provenance.trail(result)).isEmpty();
+        assertThat(result.toString()).isEqualTo("Result[Ok[1]]");
+    }
+
+    @Test
+    public void unlabeledStep() {
+        Function<Integer, Result<Integer, String>> fail = v -> Result.error("error");
+        Result<Integer, String> result = Result.<Integer, String>of(1).flatMap(fail);
+
+        assertThat(Provenance.trail(result)).hasSize(1);
+        assertThat(Provenance.trail(result).get(0)).startsWith("ProvenanceTest$$Lambda");
+    }
+
+    @Test
+    public void trailKeepsLastSteps() {
+        Result<Integer, String> result = Result.<Integer, String>of(1)
+                .flatMap(Provenance.label("step0", v -> Result.error("error")));
+        for (int i = 1; i < 10; i++) {
+            result = result.mapError(Provenance.label("step" + i, Function.identity()));
+        }
+
+        assertThat(Provenance.trail(result)).containsExactly(
+                "step2", "step3", "step4", "step5", "step6", "step7", "step8", "step9");
+        assertThat(result.toString()).startsWith("Result[Err[error], Trail[... > step2 > ");
+    }
+
+    @Test
+    public void lazyError_evaluatedOnce() {
+        int[] calls = new int[1];
+        Result<Integer, String> result = Result.<Integer, String>of(1)
+                .flatMap(Provenance.label("lookup", v -> Result.errorLazy(() -> {
+                    calls[0]++;
+                    return "lazy";
+                })));
+
+        assertThat(calls[0]).isEqualTo(0);
+        assertThat(result.getError()).isEqualTo("lazy");
+        assertThat(result.getError()).isEqualTo("lazy");
+        assertThat(calls[0]).isEqualTo(1);
+        assertThat(Provenance.trail(result)).containsExactly("lookup");
+    }
+
+    @Test
+    public void equalsIgnoresTrail() {
+        Result<Integer, String> result = Result.<Integer, String>of(1)
+                .flatMap(Provenance.label("lookup", v -> Result.error("error")));
+
+        assertThat(result).isEqualTo(Result.error("error"));
+        assertThat(result.hashCode()).isEqualTo(Result.error("error").hashCode());
+    }
+
+    @Test
+    public void trail_ok() {
+        assertThat(Provenance.trail(Result.of(1))).isEmpty();
+    }
+}
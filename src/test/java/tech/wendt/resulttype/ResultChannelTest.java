@@ -0,0 +1,262 @@
+package tech.wendt.resulttype;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResultChannelTest {
+
+    @Test
+    public void offerRoutesByOutcome() {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(4);
+        assertThat(channel.offer(Result.of(1))).isTrue();
+        assertThat(channel.offer(Result.error("a"))).isTrue();
+        assertThat(channel.offer(Result.of(2))).isTrue();
+
+        assertThat(channel.size()).isEqualTo(2);
+        assertThat(channel.errorSize()).isEqualTo(1);
+        assertThat(channel.poll()).isEqualTo(Result.of(1));
+        assertThat(channel.poll()).isEqualTo(Result.of(2));
+        assertThat(channel.poll()).isNull();
+        assertThat(channel.pollError()).isEqualTo(Result.error("a"));
+        assertThat(channel.pollError()).isNull();
+    }
+
+    @Test
+    public void offer_full() {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(2, 2);
+        assertThat(channel.offer(Result.of(1))).isTrue();
+        assertThat(channel.offer(Result.of(2))).isTrue();
+        assertThat(channel.offer(Result.of(3))).isFalse();
+        assertThat(channel.offer(Result.error("a"))).isTrue();
+        assertThat(channel.offer(Result.error("b"))).isTrue();
+        assertThat(channel.offer(Result.error("c"))).isFalse();
+
+        assertThat(channel.poll()).isEqualTo(Result.of(1));
+        assertThat(channel.offer(Result.of(3))).isTrue();
+    }
+
+    @Test
+    public void capacityIsRoundedUp() {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(3);
+        for (int i = 0; i < 4; i++) {
+            assertThat(channel.offer(Result.of(i))).isTrue();
+        }
+        assertThat(channel.offer(Result.of(4))).isFalse();
+    }
+
+    @Test
+    public void drainTo() {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(8);
+        for (int i = 0; i < 5; i++) {
+            channel.offer(Result.of(i));
+            channel.offer(Result.error("e" + i));
+        }
+        List<Result<Integer, String>> batch = new ArrayList<>();
+        assertThat(channel.drainTo(batch, 3)).isEqualTo(3);
+        assertThat(channel.drainTo(batch)).isEqualTo(2);
+        assertThat(batch).containsExactly(Result.of(0), Result.of(1), Result.of(2), Result.of(3), Result.of(4));
+
+        List<Result<Integer, String>> deadLetters = new ArrayList<>();
+        assertThat(channel.drainErrorsTo(deadLetters)).isEqualTo(5);
+        assertThat(deadLetters).allMatch(Result::isError);
+    }
+
+    @Test
+    public void multipleProducers() throws InterruptedException {
+        ResultChannel<Integer, Integer> channel = new ResultChannel<>(16);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        channel.put(i % 10 == 0 ? Result.error(i) : Result.of(i));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        long okSum = 0;
+        long errorSum = 0;
+        int received = 0;
+        List<Result<Integer, Integer>> batch = new ArrayList<>();
+        while (received < producers * perProducer) {
+            batch.clear();
+            channel.drainTo(batch, 8);
+            channel.drainErrorsTo(batch, 8);
+            if (batch.isEmpty()) {
+                Thread.yield();
+            }
+            for (Result<Integer, Integer> result : batch) {
+                if (result.isOk()) {
+                    okSum += result.get();
+                } else {
+                    errorSum += result.getError();
+                }
+            }
+            received += batch.size();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        long expectedOk = 0;
+        long expectedError = 0;
+        for (int i = 0; i < perProducer; i++) {
+            if (i % 10 == 0) {
+                expectedError += i;
+            } else {
+                expectedOk += i;
+            }
+        }
+        assertThat(okSum).isEqualTo(expectedOk * producers);
+        assertThat(errorSum).isEqualTo(expectedError * producers);
+    }
+
+    @Test
+    public void take() throws InterruptedException {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(1);
+        Thread producer = new Thread(() -> {
+            try {
+                channel.put(Result.of(1));
+                channel.put(Result.error("a"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertThat(channel.take()).isEqualTo(Result.of(1));
+        assertThat(channel.takeError()).isEqualTo(Result.error("a"));
+        producer.join();
+    }
+
+    @Test
+    public void offerWakesParkedConsumer() throws Exception {
+        ResultChannel<Long, String> channel = new ResultChannel<>(4);
+        List<Long> latencies = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 10; i++) {
+                    long sent = channel.take().get();
+                    latencies.add(System.nanoTime() - sent);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        for (int i = 0; i < 10; i++) {
+            awaitParked(consumer);
+            channel.put(Result.of(System.nanoTime()));
+        }
+        consumer.join(5_000);
+
+        assertThat(latencies).hasSize(10);
+        assertThat(latencies).allMatch(latency -> latency < TimeUnit.MILLISECONDS.toNanos(25));
+    }
+
+    @Test
+    public void pollWakesParkedProducer() throws Exception {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(2);
+        channel.put(Result.of(1));
+        channel.put(Result.of(2));
+        Thread producer = new Thread(() -> {
+            try {
+                channel.put(Result.of(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        awaitParked(producer);
+        long start = System.nanoTime();
+        assertThat(channel.poll()).isEqualTo(Result.of(1));
+        producer.join(5_000);
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(25));
+        assertThat(channel.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void drainToWakesParkedProducer() throws Exception {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(2);
+        channel.put(Result.of(1));
+        channel.put(Result.of(2));
+        Thread producer = new Thread(() -> {
+            try {
+                channel.put(Result.of(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        awaitParked(producer);
+        long start = System.nanoTime();
+        List<Result<Integer, String>> batch = new ArrayList<>();
+        assertThat(channel.drainTo(batch)).isEqualTo(2);
+        producer.join(5_000);
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(25));
+        assertThat(batch).containsExactly(Result.of(1), Result.of(2));
+        assertThat(channel.poll()).isEqualTo(Result.of(3));
+    }
+
+    @Test
+    public void drainTo_wrapsAround() {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(4);
+        List<Result<Integer, String>> batch = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(channel.offer(Result.of(round * 3 + i))).isTrue();
+            }
+            assertThat(channel.drainTo(batch)).isEqualTo(3);
+        }
+        assertThat(batch).extracting(Result::get).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(channel.size()).isZero();
+    }
+
+    @Test
+    public void drainTo_failingBatchReleasesSlots() {
+        ResultChannel<Integer, String> channel = new ResultChannel<>(4);
+        for (int i = 0; i < 4; i++) {
+            channel.offer(Result.of(i));
+        }
+        List<Result<Integer, String>> batch = new ArrayList<Result<Integer, String>>() {
+            @Override
+            public boolean add(Result<Integer, String> result) {
+                if (size() == 2) {
+                    throw new IllegalStateException("batch full");
+                }
+                return super.add(result);
+            }
+        };
+        assertThatThrownBy(() -> channel.drainTo(batch)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(batch).containsExactly(Result.of(0), Result.of(1));
+        for (int i = 0; i < 4; i++) {
+            assertThat(channel.offer(Result.of(10 + i))).isTrue();
+        }
+        assertThat(channel.poll()).isEqualTo(Result.of(10));
+    }
+
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroCapacity() {
+        new ResultChannel<Integer, String>(0);
+    }
+}
@@ -0,0 +1,170 @@
+package tech.wendt.resulttype;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResultRefTest {
+
+    @Test
+    public void get() {
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.of(1));
+        assertThat(ref.get()).isEqualTo(Result.of(1));
+    }
+
+    @Test
+    public void getAndSet() {
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.of(1));
+        assertThat(ref.getAndSet(Result.error("down"))).isEqualTo(Result.of(1));
+        assertThat(ref.get()).isEqualTo(Result.error("down"));
+    }
+
+    @Test
+    public void compareAndSet() {
+        Result<Integer, String> initial = Result.of(1);
+        ResultRef<Integer, String> ref = new ResultRef<>(initial);
+        assertThat(ref.compareAndSet(Result.of(1), Result.of(2))).isFalse();
+        assertThat(ref.compareAndSet(initial, Result.of(2))).isTrue();
+        assertThat(ref.get()).isEqualTo(Result.of(2));
+    }
+
+    @Test
+    public void compareAndSetOutcome() {
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.error("down"));
+        assertThat(ref.compareAndSetOutcome(Result.of(1), Result.of(2))).isFalse();
+        assertThat(ref.compareAndSetOutcome(Result.error("down"), Result.of(2))).isTrue();
+        assertThat(ref.get()).isEqualTo(Result.of(2));
+    }
+
+    @Test
+    public void updateOk() {
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.of(1));
+        assertThat(ref.updateOk(value -> value + 1)).isEqualTo(Result.of(2));
+
+        ref.set(Result.error("down"));
+        assertThat(ref.updateOk(value -> value + 1)).isEqualTo(Result.error("down"));
+    }
+
+    @Test
+    public void updateError() {
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.error("down"));
+        assertThat(ref.updateError(error -> error + "!")).isEqualTo(Result.error("down!"));
+
+        ref.set(Result.of(1));
+        assertThat(ref.updateError(error -> error + "!")).isEqualTo(Result.of(1));
+    }
+
+    @Test
+    public void getAndMap() {
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.of(1));
+        assertThat(ref.getAndMap(value -> value * 10)).isEqualTo(Result.of(1));
+        assertThat(ref.get()).isEqualTo(Result.of(10));
+    }
+
+    @Test
+    public void concurrentUpdates() throws InterruptedException {
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.of(0));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    ref.updateOk(value -> value + 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ref.get()).isEqualTo(Result.of(40_000));
+    }
+
+    @Test
+    public void listenersSeeLatestResult() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ResultRef<Integer, String> ref = new ResultRef<>(Result.of(0), executor);
+            List<Result<Integer, String>> seen = new ArrayList<>();
+            CountDownLatch last = new CountDownLatch(1);
+            ref.addListener(result -> {
+                seen.add(result);
+                if (result.equals(Result.of(1000))) {
+                    last.countDown();
+                }
+            });
+            for (int i = 1; i <= 1000; i++) {
+                ref.set(Result.of(i));
+            }
+            assertThat(last.await(10, TimeUnit.SECONDS)).isTrue();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(seen).isNotEmpty();
+            assertThat(seen.size()).isLessThanOrEqualTo(1000);
+            assertThat(seen.get(seen.size() - 1)).isEqualTo(Result.of(1000));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void rejectedNotification_writeSucceedsAndIsRetried() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.of(1), task -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException();
+            }
+            task.run();
+        });
+        List<Result<Integer, String>> seen = new ArrayList<>();
+        ref.addListener(seen::add);
+
+        assertThat(ref.compareAndSetOutcome(Result.of(1), Result.of(2))).isTrue();
+        assertThat(ref.get()).isEqualTo(Result.of(2));
+        assertThat(seen).isEmpty();
+
+        reject.set(false);
+        ref.set(Result.of(3));
+        assertThat(seen).containsExactly(Result.of(3));
+    }
+
+    @Test
+    public void failingListener_othersAreStillNotified() {
+        ResultRef<Integer, String> ref = new ResultRef<>(Result.of(1), Runnable::run);
+        List<Result<Integer, String>> seen = new ArrayList<>();
+        ref.addListener(result -> {
+            throw new IllegalStateException("listener failed");
+        });
+        ref.addListener(seen::add);
+        List<Throwable> reported = new ArrayList<>();
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+        try {
+            ref.set(Result.of(2));
+            ref.set(Result.of(3));
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+
+        assertThat(ref.get()).isEqualTo(Result.of(3));
+        assertThat(seen).containsExactly(Result.of(2), Result.of(3));
+        assertThat(reported).hasSize(2).allSatisfy(e -> assertThat(e).hasMessage("listener failed"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addListener_withoutExecutor() {
+        new ResultRef<Integer, String>(Result.of(1)).addListener(result -> { });
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void set_null() {
+        new ResultRef<Integer, String>(Result.of(1)).set(null);
+    }
+}
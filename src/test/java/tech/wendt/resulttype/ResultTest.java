@@ -2,6 +2,15 @@ package tech.wendt.resulttype;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ResultTest {
@@ -30,4 +39,58 @@ public class ResultTest {
         Result<Integer, String> result = Result.ofNullable(null, "error");
         assertThat(result.getError()).isEqualTo("error");
     }
+
+    @Test
+    public void errorLazy_notComputedByCombinators() {
+        AtomicInteger calls = new AtomicInteger();
+        Result<Integer, String> result = Result.<Integer, String>errorLazy(() -> "error" + calls.incrementAndGet())
+                .map(value -> value + 1)
+                .flatMap(value -> Result.of(value + 1));
+        assertThat(result.isError()).isTrue();
+        assertThat(result.isOk()).isFalse();
+        assertThat(result.orElse(5)).isEqualTo(5);
+        assertThat(result.orElseGet(() -> 6)).isEqualTo(6);
+        assertThat(result.or(() -> Result.of(7)).get()).isEqualTo(7);
+        assertThat(calls.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void errorLazy_computedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Result<Integer, String> result = Result.errorLazy(() -> "error" + calls.incrementAndGet());
+        assertThat(result.getError()).isEqualTo("error1");
+        assertThat(result.mapError(String::length).getError()).isEqualTo(6);
+        assertThat(result.toString()).isEqualTo("Result[Err[error1]]");
+        assertThat(result).isEqualTo(Result.error("error1"));
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void errorLazy_computedOnceAcrossThreads() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Result<Integer, String> result = Result.errorLazy(() -> "error" + calls.incrementAndGet());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> errors = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                errors.add(executor.submit(() -> {
+                    start.await();
+                    return result.getError();
+                }));
+            }
+            start.countDown();
+            for (Future<String> error : errors) {
+                assertThat(error.get(10, TimeUnit.SECONDS)).isEqualTo("error1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void errorLazy_null() {
+        Result.errorLazy(() -> null).getError();
+    }
 }
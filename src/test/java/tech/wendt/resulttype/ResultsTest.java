@@ -0,0 +1,122 @@
+package tech.wendt.resulttype;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResultsTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    public void countOk() {
+        assertThat(Results.countOk(results(10, 3))).isEqualTo(6);
+        assertThat(Results.countOk(new Result<?, ?>[0])).isEqualTo(0);
+    }
+
+    @Test
+    public void countOk_parallel() {
+        Result<Integer, String>[] results = results(100_000, 7);
+        assertThat(Results.countOk(results, POOL)).isEqualTo(Results.countOk(results));
+    }
+
+    @Test
+    public void unwrapOrElse() {
+        Integer[] values = Results.unwrapOrElse(results(4, 2), new Integer[4], -1);
+        assertThat(values).containsExactly(-1, 1, -1, 3);
+    }
+
+    @Test
+    public void unwrapOrElse_parallel() {
+        Result<Integer, String>[] results = results(100_000, 5);
+        Integer[] values = Results.unwrapOrElse(results, new Integer[results.length], -1, POOL);
+        assertThat(values).containsExactly(Results.unwrapOrElse(results, new Integer[results.length], -1));
+        assertThat(values[99_999]).isEqualTo(99_999);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unwrapOrElse_shortTarget() {
+        Results.unwrapOrElse(results(4, 2), new Integer[3], -1);
+    }
+
+    @Test
+    public void mapAllInto() {
+        Result<Integer, String>[] results = results(4, 2);
+        Result<String, String>[] mapped = Results.mapAllInto(results, v -> "v" + v, newArray(4));
+        assertThat(mapped).containsExactly(Result.error("error 0"), Result.of("v1"), Result.error("error 2"), Result.of("v3"));
+        assertThat(mapped[0]).isSameAs(results[0]);
+    }
+
+    @Test
+    public void mapAllInto_parallel() {
+        Result<Integer, String>[] results = results(100_000, 3);
+        Result<Integer, String>[] mapped = Results.mapAllInto(results, v -> v * 2, newArray(results.length), POOL);
+        assertThat(mapped).containsExactly(Results.mapAllInto(results, v -> v * 2, newArray(results.length)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void mapAllInto_nullMapped() {
+        Results.mapAllInto(results(4, 2), v -> null, newArray(4));
+    }
+
+    @Test
+    public void indexOfFirstError() {
+        Result<Integer, String>[] results = results(10, 20);
+        results[0] = Result.of(0);
+        assertThat(Results.indexOfFirstError(results)).isEqualTo(-1);
+        results[7] = Result.error("error");
+        results[9] = Result.error("error");
+        assertThat(Results.indexOfFirstError(results)).isEqualTo(7);
+    }
+
+    @Test
+    public void indexOfFirstError_parallel() {
+        Result<Integer, String>[] results = results(100_000, 200_000);
+        results[0] = Result.of(0);
+        assertThat(Results.indexOfFirstError(results, POOL)).isEqualTo(-1);
+        results[70_000] = Result.error("error");
+        results[90_000] = Result.error("error");
+        assertThat(Results.indexOfFirstError(results, POOL)).isEqualTo(70_000);
+        results[1] = Result.error("error");
+        assertThat(Results.indexOfFirstError(results, POOL)).isEqualTo(1);
+    }
+
+    @Test
+    public void partitionInPlace() {
+        Result<Integer, String>[] results = results(11, 3);
+        int ok = Results.partitionInPlace(results);
+        assertThat(ok).isEqualTo(7);
+        assertThat(Arrays.asList(results).subList(0, ok)).allMatch(Result::isOk);
+        assertThat(Arrays.asList(results).subList(ok, results.length)).allMatch(Result::isError);
+        assertThat(results).containsExactlyInAnyOrder(results(11, 3));
+    }
+
+    @Test
+    public void partitionInPlace_uniform() {
+        assertThat(Results.partitionInPlace(results(5, 10))).isEqualTo(4);
+        assertThat(Results.partitionInPlace(results(5, 1))).isEqualTo(0);
+        assertThat(Results.partitionInPlace(newArray(0))).isEqualTo(0);
+    }
+
+    private static Result<Integer, String>[] results(int size, int errorEvery) {
+        Result<Integer, String>[] results = newArray(size);
+        for (int i = 0; i < size; i++) {
+            results[i] = i % errorEvery == 0 ? Result.error("error " + i) : Result.of(i);
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Result<T, String>[] newArray(int size) {
+        return new Result[size];
+    }
+}